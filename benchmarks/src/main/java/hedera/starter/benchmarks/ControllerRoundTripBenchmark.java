@@ -0,0 +1,109 @@
+package hedera.starter.benchmarks;
+
+import com.hedera.hashgraph.sdk.PrivateKey;
+import hedera.starter.SpringHederaStarterProjectApplication;
+import hedera.starter.utilities.MirrorNodeStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full HTTP round trips through the running application: servlet container, filters, controller, service,
+ * cache and read backend, with the network replaced by an in-process mirror node stub.
+ * Caches are disabled so every request reaches the stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ControllerRoundTripBenchmark {
+
+    private static final String ACCOUNT_ID = "0.0.1003";
+    private static final String TOKEN_ID = "0.0.2001";
+
+    private Path workDirectory;
+    private MirrorNodeStub mirrorNode;
+    private ConfigurableApplicationContext application;
+    private HttpClient http;
+    private HttpRequest balance;
+    private HttpRequest nftOwner;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("hedera-benchmark");
+        Files.writeString(workDirectory.resolve(".env"), "OPERATOR_ID=0.0.1001\n"
+                + "OPERATOR_KEY=" + PrivateKey.generateED25519() + "\n");
+        System.setProperty("hedera.env.directory", workDirectory.toString());
+
+        mirrorNode = new MirrorNodeStub(0)
+                .balance(ACCOUNT_ID, 100_000_000L)
+                .token(TOKEN_ID, ACCOUNT_ID, 1)
+                .nft(TOKEN_ID, 1, ACCOUNT_ID);
+
+        application = new SpringApplicationBuilder(SpringHederaStarterProjectApplication.class)
+                .properties("server.port=0",
+                        "hedera.read.backend=mirror",
+                        "hedera.mirror.url=" + mirrorNode.url(),
+                        "hedera.cache.token-info.ttl=0ms",
+                        "hedera.cache.balance.ttl=0ms",
+                        "hedera.idempotency.journal=" + workDirectory.resolve("idempotency.journal"),
+                        "hedera.wal.path=" + workDirectory.resolve("transactions.wal"),
+                        // there are no consensus nodes to warm up against
+                        "hedera.warmup.enabled=false",
+                        "logging.level.hedera=WARN")
+                .run();
+
+        String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        http = HttpClient.newHttpClient();
+        balance = HttpRequest.newBuilder(URI.create(baseUrl + "/token/balance?accountId=" + ACCOUNT_ID)).build();
+        nftOwner = HttpRequest.newBuilder(URI.create(baseUrl + "/token/nftOwner?tokenId=" + TOKEN_ID + "&serial=1")).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        application.close();
+        mirrorNode.close();
+        System.clearProperty("hedera.env.directory");
+        FileSystemUtils.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public String getBalance() throws IOException, InterruptedException {
+        return send(balance);
+    }
+
+    @Benchmark
+    public String getNftOwner() throws IOException, InterruptedException {
+        return send(nftOwner);
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
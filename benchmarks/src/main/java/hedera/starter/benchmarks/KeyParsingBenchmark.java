@@ -0,0 +1,66 @@
+package hedera.starter.benchmarks;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.PrivateKey;
+import com.hedera.hashgraph.sdk.PublicKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the keys and account IDs that arrive as strings in request bodies, which the service
+ * does on every call that carries a seller's or buyer's key
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyParsingBenchmark {
+
+    private String derKey;
+    private String rawKey;
+    private PrivateKey privateKey;
+    private String accountId;
+
+    @Setup
+    public void setUp() {
+        privateKey = PrivateKey.generateED25519();
+        derKey = privateKey.toString();
+        rawKey = privateKey.toStringRaw();
+        accountId = "0.0.1001";
+    }
+
+    @Benchmark
+    public PrivateKey privateKeyFromDer() {
+        return PrivateKey.fromString(derKey);
+    }
+
+    @Benchmark
+    public PrivateKey privateKeyFromRaw() {
+        return PrivateKey.fromString(rawKey);
+    }
+
+    /**
+     * Settlement keys its signers by public key
+     */
+    @Benchmark
+    public PublicKey publicKey() {
+        return privateKey.getPublicKey();
+    }
+
+    @Benchmark
+    public AccountId accountIdFromString() {
+        return AccountId.fromString(accountId);
+    }
+}
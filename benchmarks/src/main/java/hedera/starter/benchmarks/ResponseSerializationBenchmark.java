@@ -0,0 +1,86 @@
+package hedera.starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.TokenInfo;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.Key;
+import com.hedera.hashgraph.sdk.proto.TokenID;
+import com.hedera.hashgraph.sdk.proto.TokenSupplyType;
+import com.hedera.hashgraph.sdk.proto.TokenType;
+import hedera.starter.SerializationConfig;
+import hedera.starter.hederatoken.dto.TokenInfoDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a /token/info response as the SDK's TokenInfo, as the endpoint used to, and as TokenInfoDto in
+ * JSON and CBOR. Compare the time here and the byte counts printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private TokenInfo info;
+    private TokenInfoDto dto;
+
+    @Setup
+    public void setUp() throws IOException {
+        SerializationConfig config = new SerializationConfig();
+        json = Jackson2ObjectMapperBuilder.json().modules(config.hederaIdModule()).build();
+        cbor = Jackson2ObjectMapperBuilder.json().modules(config.hederaIdModule()).factory(new CBORFactory()).build();
+        Key key = Key.newBuilder().setEd25519(ByteString.copyFrom(new byte[32])).build();
+        info = TokenInfo.fromBytes(com.hedera.hashgraph.sdk.proto.TokenInfo.newBuilder()
+                .setTokenId(TokenID.newBuilder().setTokenNum(1001))
+                .setName("benchmark")
+                .setSymbol("BNCH")
+                .setTotalSupply(2500)
+                .setMaxSupply(10000)
+                .setTreasury(AccountID.newBuilder().setAccountNum(1003))
+                .setTokenType(TokenType.NON_FUNGIBLE_UNIQUE)
+                .setSupplyType(TokenSupplyType.FINITE)
+                .setAdminKey(key)
+                .setSupplyKey(key)
+                .setFreezeKey(key)
+                .setWipeKey(key)
+                .setMemo("benchmark token")
+                .build().toByteArray());
+        dto = TokenInfoDto.from(info);
+        System.out.println("Bytes: sdk json " + sdkJson().length + ", dto json " + dtoJson().length
+                + ", dto cbor " + dtoCbor().length);
+    }
+
+    @Benchmark
+    public byte[] sdkJson() throws IOException {
+        return json.writeValueAsBytes(info);
+    }
+
+    @Benchmark
+    public byte[] dtoJson() throws IOException {
+        return json.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] dtoCbor() throws IOException {
+        return cbor.writeValueAsBytes(dto);
+    }
+}
@@ -0,0 +1,60 @@
+package hedera.starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hedera.starter.hederatoken.dto.TokenDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a fully populated TokenDto request body with a mapper configured as Spring MVC configures its own
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenDtoJsonBenchmark {
+
+    private ObjectMapper mapper;
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        reader = mapper.readerFor(TokenDto.class);
+        TokenDto tokenDto = new TokenDto("benchmark", "BNCH", "0.0.1003",
+                "302e020100300506032b657004220420" + "11".repeat(32), "0.0.2001", 1L,
+                "302e020100300506032b657004220420" + "22".repeat(32), "0.0.1004",
+                "302e020100300506032b657004220420" + "33".repeat(32), 10L);
+        body = mapper.writeValueAsString(tokenDto).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * As the message converter reads a request body, resolving the type on each call
+     */
+    @Benchmark
+    public TokenDto objectMapper() throws IOException {
+        return mapper.readValue(body, TokenDto.class);
+    }
+
+    @Benchmark
+    public TokenDto objectReader() throws IOException {
+        return reader.readValue(body);
+    }
+}
@@ -0,0 +1,138 @@
+package hedera.starter.benchmarks;
+
+import com.hedera.hashgraph.sdk.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds, freezes and signs the transactions the token service submits, shaped as in createToken,
+ * firstSellerNftTransfer and buyWithAllowance. The SDK signs lazily, so each benchmark ends with
+ * {@code toBytes()}, which signs the body for every node the transaction was frozen for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBuildBenchmark {
+
+    /**
+     * Nodes in the client's network; the SDK freezes a transaction for a share of them
+     */
+    @Param({"1", "7"})
+    public int nodes;
+
+    private Client client;
+    private PrivateKey adminKey;
+    private PrivateKey supplyKey;
+    private PrivateKey sellerKey;
+    private PrivateKey buyerKey;
+    private AccountId treasuryId;
+    private AccountId sellerId;
+    private AccountId buyerId;
+    private NftId nftId;
+
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, AccountId> network = new HashMap<>();
+        for (int i = 0; i < nodes; i++) {
+            network.put("127.0.0." + (i + 1) + ":50211", new AccountId(3 + i));
+        }
+        client = Client.forNetwork(network);
+        client.setOperator(AccountId.fromString("0.0.1001"), PrivateKey.generateED25519());
+        client.setDefaultMaxTransactionFee(Hbar.from(50));
+
+        adminKey = PrivateKey.generateED25519();
+        supplyKey = PrivateKey.generateED25519();
+        sellerKey = PrivateKey.generateED25519();
+        buyerKey = PrivateKey.generateED25519();
+        treasuryId = AccountId.fromString("0.0.1002");
+        sellerId = AccountId.fromString("0.0.1003");
+        buyerId = AccountId.fromString("0.0.1004");
+        nftId = new NftId(TokenId.fromString("0.0.2001"), 1);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Benchmark
+    public byte[] createToken() {
+        CustomFee royaltyFee = new CustomRoyaltyFee()
+                .setNumerator(1)
+                .setDenominator(10)
+                .setFeeCollectorAccountId(treasuryId)
+                .setFallbackFee(new CustomFixedFee().setHbarAmount(new Hbar(30)));
+
+        return new TokenCreateTransaction()
+                .setTokenName("benchmark")
+                .setTokenSymbol("BNCH")
+                .setTokenType(TokenType.NON_FUNGIBLE_UNIQUE)
+                .setDecimals(0)
+                .setInitialSupply(0)
+                .setTreasuryAccountId(sellerId)
+                .setSupplyType(TokenSupplyType.FINITE)
+                .setMaxSupply(10000)
+                .setCustomFees(List.of(royaltyFee))
+                .setAdminKey(adminKey)
+                .setSupplyKey(supplyKey)
+                .setFreezeKey(adminKey)
+                .setWipeKey(adminKey)
+                .freezeWith(client)
+                .sign(sellerKey)
+                .sign(adminKey)
+                .toBytes();
+    }
+
+    /**
+     * A single-sale settlement, as submitted when no other sale by the seller shares the batch
+     */
+    @Benchmark
+    public byte[] firstSellerNftTransfer() {
+        return new TransferTransaction()
+                .addNftTransfer(nftId, sellerId, buyerId)
+                .addHbarTransfer(sellerId, Hbar.from(10))
+                .addHbarTransfer(buyerId, Hbar.from(10).negated())
+                .freezeWith(client)
+                .sign(sellerKey)
+                .sign(buyerKey)
+                .toBytes();
+    }
+
+    /**
+     * Both legs of a purchase: the buyer's allowance approval, then the transfer
+     */
+    @Benchmark
+    public byte[][] buyWithAllowance() {
+        byte[] approval = new AccountAllowanceApproveTransaction()
+                .approveHbarAllowance(buyerId, sellerId, Hbar.from(10))
+                .freezeWith(client)
+                .sign(buyerKey)
+                .toBytes();
+        byte[] transfer = new TransferTransaction()
+                .addNftTransfer(nftId, sellerId, buyerId)
+                .addHbarTransfer(sellerId, Hbar.from(10))
+                .addHbarTransfer(buyerId, Hbar.from(10).negated())
+                .freezeWith(client)
+                .sign(buyerKey)
+                .toBytes();
+        return new byte[][]{approval, transfer};
+    }
+}
@@ -0,0 +1,57 @@
+package hedera.starter;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.NftId;
+import com.hedera.hashgraph.sdk.ScheduleId;
+import com.hedera.hashgraph.sdk.TokenId;
+import com.hedera.hashgraph.sdk.TransactionId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class SerializationConfig {
+
+    /**
+     * Writes SDK entity IDs in their "0.0.123" form rather than as the SDK's object graph
+     */
+    @Bean
+    public Module hederaIdModule() {
+        return new SimpleModule("hedera-ids")
+                .addSerializer(AccountId.class, ToStringSerializer.instance)
+                .addSerializer(TokenId.class, ToStringSerializer.instance)
+                .addSerializer(NftId.class, ToStringSerializer.instance)
+                .addSerializer(ScheduleId.class, ToStringSerializer.instance)
+                .addSerializer(TransactionId.class, ToStringSerializer.instance);
+    }
+
+    /**
+     * Answers {@code Accept: application/cbor} with CBOR for service-to-service callers. Spring MVC adds a
+     * CBOR converter of its own whose mapper lacks the application's modules, so it is replaced with one built
+     * like the JSON mapper, still after the JSON converter so requests accepting anything get JSON.
+     */
+    @Bean
+    public WebMvcConfigurer cborConverter(Jackson2ObjectMapperBuilder builder,
+                                          @Value("${hedera.api.cbor.enabled:true}") boolean enabled) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+                if (enabled) {
+                    converters.add(new MappingJackson2CborHttpMessageConverter(
+                            builder.createXmlMapper(false).factory(new CBORFactory()).build()));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package hedera.starter.hederatoken.controller;
+
+import hedera.starter.hederatoken.dto.CacheStatsDto;
+import hedera.starter.hederatoken.dto.NodeScoreDto;
+import hedera.starter.hederatoken.service.impl.TokenReadCache;
+import hedera.starter.utilities.KeyRegistry;
+import hedera.starter.utilities.NodeHealth;
+import io.swagger.annotations.Api;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@Api("Operational endpoints for the token service")
+@RequestMapping(path = "/token/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final KeyRegistry keyRegistry;
+    private final TokenReadCache readCache;
+    private final NodeHealth nodeHealth;
+
+    @PostMapping("/keys/reload")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reloadKeys() {
+        keyRegistry.reload();
+    }
+
+    @GetMapping("/cache")
+    public List<CacheStatsDto> cacheStats() {
+        return readCache.stats();
+    }
+
+    @GetMapping("/nodes")
+    public List<NodeScoreDto> nodeScores() {
+        return nodeHealth.scores().stream()
+                .map(score -> new NodeScoreDto(score.getNodeId().toString(), score.getLatencyMillis(),
+                        score.getErrorRate(), score.getSamples(), score.getScore()))
+                .collect(Collectors.toList());
+    }
+}
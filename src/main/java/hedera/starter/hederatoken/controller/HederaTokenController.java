@@ -1,13 +1,38 @@
 package hedera.starter.hederatoken.controller;
 
 import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.AccountDto;
+import hedera.starter.hederatoken.dto.BalanceDto;
+import hedera.starter.hederatoken.dto.BulkAssociationDto;
+import hedera.starter.hederatoken.dto.MintJobDto;
+import hedera.starter.hederatoken.dto.NftOwnerDto;
+import hedera.starter.hederatoken.dto.ReceiptDto;
+import hedera.starter.hederatoken.dto.RoyaltySplitDto;
 import hedera.starter.hederatoken.dto.TokenDto;
+import hedera.starter.hederatoken.dto.TokenInfoDto;
+import hedera.starter.hederatoken.dto.TransactionStatusDto;
+import hedera.starter.hederatoken.service.AsyncTokenService;
+import hedera.starter.hederatoken.service.BulkMintService;
+import hedera.starter.hederatoken.service.NftExportService;
+import hedera.starter.hederatoken.service.ReceiptTracker;
 import hedera.starter.hederatoken.service.TokenService;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.IdempotencyContext;
 import io.swagger.annotations.Api;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.concurrent.TimeoutException;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @Api("Handles management of Hedera Accounts")
@@ -15,34 +40,80 @@ import java.util.concurrent.TimeoutException;
 @RequiredArgsConstructor
 public class HederaTokenController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final TokenService tokenService;
+    private final AsyncTokenService asyncTokenService;
+    private final BulkMintService bulkMintService;
+    private final ReceiptTracker receiptTracker;
+    private final NftExportService nftExportService;
 
     @PostMapping()
-    public TokenId createToken(@RequestBody TokenDto tokenDto)
-            throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.createToken(tokenDto);
+    public CompletableFuture<?> createToken(@RequestBody TokenDto tokenDto,
+                                            @RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, () -> asyncTokenService.createToken(tokenDto));
     }
 
     @PostMapping("/createAccount")
-    public AccountId createAccount() throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
-        return tokenService.createAccount();
+    public CompletableFuture<?> createAccount(@RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, asyncTokenService::createAccount);
+    }
+
+    @PostMapping("/createAccount/bulk")
+    public CompletableFuture<List<AccountDto>> createAccounts(@RequestParam int count) {
+        return asyncTokenService.createAccounts(count);
     }
 
     @GetMapping("/info")
-    public TokenInfo getTokenInfo(@RequestParam String tokenId) throws PrecheckStatusException, TimeoutException {
-        return tokenService.getTokenInfo(tokenId);
+    public CompletableFuture<TokenInfoDto> getTokenInfo(@RequestParam String tokenId) {
+        return asyncTokenService.getTokenInfo(tokenId).thenApply(TokenInfoDto::from);
     }
 
     @GetMapping("/mint")
-    public TransactionReceipt mintToken(@RequestParam String tokenId,
-                                        @RequestParam String contentId)
-            throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.tokenMint(tokenId, contentId);
+    public CompletableFuture<?> mintToken(@RequestParam String tokenId,
+                                          @RequestParam String contentId,
+                                          @RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, () -> asyncTokenService.tokenMint(tokenId, contentId).thenApply(ReceiptDto::from));
+    }
+
+    @PostMapping(path = "/{tokenId}/mint/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public MintJobDto bulkMint(@PathVariable String tokenId, HttpServletRequest request) throws IOException {
+        return bulkMintService.startBulkMint(tokenId, request.getInputStream());
+    }
+
+    @GetMapping("/mint/bulk/{jobId}")
+    public ResponseEntity<MintJobDto> getBulkMintJob(@PathVariable String jobId) {
+        MintJobDto job = bulkMintService.getJob(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/tx/{transactionId:.+}")
+    public ResponseEntity<TransactionStatusDto> getTransactionStatus(@PathVariable String transactionId) {
+        TransactionStatusDto status = receiptTracker.getStatus(TransactionId.fromString(transactionId));
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
     }
 
     @GetMapping("/balance")
-    public Hbar getBalance(@RequestParam String accountId) throws PrecheckStatusException, TimeoutException {
-        return tokenService.getBalance(accountId);
+    public CompletableFuture<BalanceDto> getBalance(@RequestParam String accountId) {
+        return asyncTokenService.getBalance(accountId)
+                .thenApply(balance -> new BalanceDto(AccountId.fromString(accountId).toString(), balance.toTinybars()));
+    }
+
+    @GetMapping("/nftOwner")
+    public CompletableFuture<NftOwnerDto> getNftOwner(@RequestParam String tokenId, @RequestParam long serial) {
+        return asyncTokenService.getNftOwner(tokenId, serial)
+                .thenApply(owner -> new NftOwnerDto(TokenId.fromString(tokenId).toString(), serial, owner.toString()));
+    }
+
+    /**
+     * Streams serial, owner and metadata of every NFT of the token as newline-delimited JSON
+     */
+    @GetMapping(path = "/{tokenId}/nfts", produces = NDJSON)
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getNfts(@PathVariable String tokenId) {
+        return asyncTokenService.getTokenInfo(tokenId).thenApply(token -> ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> nftExportService.writeNfts(token, out)));
     }
 
     @GetMapping("/generatePrivateKey")
@@ -51,32 +122,84 @@ public class HederaTokenController {
     }
 
     @PostMapping("/burnToken")
-    public Status burnToken(@RequestBody TokenDto tokenDto)
-            throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.burnToken(tokenDto);
+    public CompletableFuture<?> burnToken(@RequestBody TokenDto tokenDto,
+                                          @RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, () -> asyncTokenService.burnToken(tokenDto));
     }
 
     @PostMapping("/associate")
-    public String associate(@RequestBody TokenDto tokenDto)
-            throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.associate(tokenDto);
+    public CompletableFuture<?> associate(@RequestBody TokenDto tokenDto,
+                                          @RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, () -> asyncTokenService.associate(tokenDto));
+    }
+
+    @PostMapping("/associate/bulk")
+    public CompletableFuture<Map<String, String>> associateBulk(@RequestBody BulkAssociationDto associationDto) {
+        return asyncTokenService.associate(associationDto);
     }
 
     @GetMapping("/splitRoyality")
-    public String splitRoyality() throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.splitRoyality();
+    public CompletableFuture<String> splitRoyality() {
+        return asyncTokenService.splitRoyality();
     }
 
+    @PostMapping("/royalty/split")
+    public CompletableFuture<List<RoyaltySplitDto>> splitAllRoyalties() {
+        return asyncTokenService.splitAllRoyalties();
+    }
 
     @PostMapping("/firstSellerNftTransfer")
-    public Status transferNft(@RequestBody TokenDto tokenDto)
-            throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.firstSellerNftTransfer(tokenDto);
+    public CompletableFuture<?> transferNft(@RequestBody TokenDto tokenDto,
+                                            @RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, () -> asyncTokenService.firstSellerNftTransfer(tokenDto));
     }
 
     @PostMapping("/buyWithAllowance")
-    public Status buyWithAllowance(@RequestBody TokenDto tokenDto) throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        return tokenService.buyWithAllowance(tokenDto);
+    public CompletableFuture<?> buyWithAllowance(@RequestBody TokenDto tokenDto,
+                                                 @RequestParam(defaultValue = "false") boolean async) {
+        return respond(async, () -> asyncTokenService.buyWithAllowance(tokenDto));
+    }
+
+    /**
+     * With {@code async}, answers 202 with the first transaction's ID as soon as the network accepts it instead
+     * of waiting for the receipt. Its outcome, and that of any later transaction of the operation, is published
+     * on {@code /token/events} and kept at {@code /token/tx/{id}}.
+     */
+    private CompletableFuture<?> respond(boolean async, Supplier<CompletableFuture<?>> operation) {
+        if (!async) {
+            return operation.get();
+        }
+        CompletableFuture<Object> answer = new CompletableFuture<>();
+        IdempotencyContext.Listener request = IdempotencyContext.current();
+        IdempotencyContext.Listener submitted = new IdempotencyContext.Listener() {
+            @Override
+            public void submitted(TransactionId transactionId) {
+                request.submitted(transactionId);
+            }
+
+            @Override
+            public void accepted(TransactionId transactionId) {
+                request.accepted(transactionId);
+                // an attempt turned away at precheck is resent under a new ID, so only an accepted ID is final
+                answer.complete(ResponseEntity.accepted()
+                        .location(URI.create("/token/tx/" + transactionId))
+                        .body(new TransactionStatusDto(transactionId.toString(), "PENDING", null, null)));
+            }
+
+            @Override
+            public void resolved(TransactionId transactionId, Throwable error) {
+                request.resolved(transactionId, error);
+            }
+        };
+        IdempotencyContext.with(submitted, operation).whenComplete((result, error) -> {
+            if (error != null) {
+                answer.completeExceptionally(Futures.unwrap(error));
+            } else {
+                // nothing was submitted
+                answer.complete(result);
+            }
+        });
+        return answer;
     }
 
 }
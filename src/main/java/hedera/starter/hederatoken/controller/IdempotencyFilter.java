@@ -0,0 +1,237 @@
+package hedera.starter.hederatoken.controller;
+
+import com.hedera.hashgraph.sdk.TransactionId;
+import hedera.starter.hederatoken.service.impl.IdempotencySettlement;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.IdempotencyJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Makes requests carrying an {@code Idempotency-Key} header safe to retry: the first request with a key is
+ * carried out and its response journaled, later ones get that response replayed without touching the network.
+ * A retry that arrives while the first request is still running gets 409 with the transactions submitted so far,
+ * as does one after the first request gave up on transactions whose outcome is still to come.
+ * Only requests that change something are journaled: unsafe methods, and the few legacy GET endpoints that
+ * submit transactions. Responses that carry private keys are not written to the journal, which is a plain file;
+ * a retry of one gets the status alone.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final Set<String> UNSAFE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Set<String> MUTATING_GETS = Set.of("/token/mint", "/token/splitRoyality");
+    private static final Set<String> KEY_BEARING = Set.of("/token/createAccount", "/token/createAccount/bulk");
+
+    private final IdempotencyJournal journal;
+    private final IdempotencySettlement settlement;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !UNSAFE_METHODS.contains(request.getMethod())
+                && !("GET".equals(request.getMethod()) && MUTATING_GETS.contains(path(request)));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // async endpoints complete their response in the async dispatch, which is when it can be journaled
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key == null || key.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!isAsyncDispatch(request)) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            request = cached;
+            String fingerprint = fingerprint(cached);
+            IdempotencyJournal.Entry existing = journal.begin(key, fingerprint);
+            if (existing != null) {
+                replay(existing, fingerprint, response);
+                return;
+            }
+        }
+
+        ContentCachingResponseWrapper recorded = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (recorded == null) {
+            recorded = new ContentCachingResponseWrapper(response);
+        }
+        IdempotencyContext.bind(new IdempotencyContext.Listener() {
+            @Override
+            public void submitted(TransactionId transactionId) {
+                journal.transaction(key, transactionId.toString());
+            }
+
+            @Override
+            public void resolved(TransactionId transactionId, Throwable error) {
+                settlement.resolved(key, transactionId, error);
+            }
+        });
+        try {
+            chain.doFilter(request, recorded);
+        } catch (IOException | ServletException | RuntimeException e) {
+            release(key);
+            throw e;
+        } finally {
+            IdempotencyContext.clear();
+        }
+        if (isAsyncStarted(request)) {
+            return;
+        }
+
+        int status = recorded.getStatus();
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            // turned away or given up on, possibly after a transaction was sent whose outcome is still to come
+            release(key);
+        } else {
+            if (KEY_BEARING.contains(path(request))) {
+                journal.complete(key, status, null, new byte[0]);
+            } else {
+                journal.complete(key, status, recorded.getContentType(), recorded.getContentAsByteArray());
+            }
+        }
+        recorded.copyBodyToResponse();
+    }
+
+    /**
+     * Frees the key unless transactions were already submitted for it. Then it stays pending, so a retry cannot
+     * submit them twice, until their outcome settles it.
+     */
+    private void release(String key) {
+        IdempotencyJournal.Entry entry = journal.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.getTransactionIds().isEmpty()) {
+            journal.remove(key);
+        } else {
+            settlement.abandoned(key);
+        }
+    }
+
+    private void replay(IdempotencyJournal.Entry entry, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!entry.getFingerprint().equals(fingerprint)) {
+            write(response, HttpStatus.UNPROCESSABLE_ENTITY.value(), MediaType.TEXT_PLAIN_VALUE,
+                    ("Idempotency-Key was first used for " + entry.getFingerprint()).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        if (!entry.isComplete()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            String transactionIds = entry.getTransactionIds().stream()
+                    .map(transactionId -> "\"" + transactionId + "\"")
+                    .collect(Collectors.joining(","));
+            write(response, HttpStatus.CONFLICT.value(), MediaType.APPLICATION_JSON_VALUE,
+                    ("{\"transactionIds\":[" + transactionIds + "]}").getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        log.debug("Replaying response for idempotent " + fingerprint);
+        response.setHeader(REPLAYED, "true");
+        write(response, entry.getStatus(), entry.getContentType(), entry.getBody());
+    }
+
+    private static void write(HttpServletResponse response, int status, String contentType, byte[] body)
+            throws IOException {
+        response.setStatus(status);
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        String query = request.getQueryString();
+        return request.getMethod() + " " + request.getRequestURI() + (query == null ? "" : "?" + query)
+                + (request.body.length == 0 ? "" : " body " + DigestUtils.md5DigestAsHex(request.body));
+    }
+
+    /**
+     * Reads the body up front so it can be part of the fingerprint, then serves it to the handler
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding == null ? "UTF-8" : encoding));
+        }
+    }
+}
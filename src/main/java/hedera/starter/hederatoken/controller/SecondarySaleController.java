@@ -0,0 +1,51 @@
+package hedera.starter.hederatoken.controller;
+
+import hedera.starter.hederatoken.dto.SaleSignatureDto;
+import hedera.starter.hederatoken.dto.SecondarySaleDto;
+import hedera.starter.hederatoken.dto.TokenDto;
+import hedera.starter.hederatoken.service.SecondarySaleService;
+import io.swagger.annotations.Api;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Api("Secondary NFT sales settled by scheduled transactions")
+@RequestMapping(path = "/token/sales")
+@RequiredArgsConstructor
+public class SecondarySaleController {
+
+    private final SecondarySaleService secondarySaleService;
+
+    /**
+     * Answers 201 once the schedule exists, or 400 without a sale; the sale settles when both parties have signed
+     */
+    @PostMapping()
+    public CompletableFuture<ResponseEntity<SecondarySaleDto>> createSale(@RequestBody(required = false) TokenDto tokenDto) {
+        return secondarySaleService.createSale(tokenDto).thenApply(sale -> sale == null
+                ? ResponseEntity.badRequest().<SecondarySaleDto>build()
+                : ResponseEntity.created(URI.create("/token/sales/" + sale.getScheduleId())).body(sale));
+    }
+
+    /**
+     * Answers 404 for a schedule that is not a sale, 400 for an account that is neither party and 409 for a
+     * party whose signature the schedule already carries
+     */
+    @PostMapping("/{scheduleId}/sign")
+    public CompletableFuture<ResponseEntity<SecondarySaleDto>> sign(@PathVariable String scheduleId,
+                                                                    @RequestBody SaleSignatureDto signature) {
+        return secondarySaleService.sign(scheduleId, signature).thenApply(SecondarySaleController::found);
+    }
+
+    @GetMapping("/{scheduleId:.+}")
+    public CompletableFuture<ResponseEntity<SecondarySaleDto>> getSale(@PathVariable String scheduleId) {
+        return secondarySaleService.getSale(scheduleId).thenApply(SecondarySaleController::found);
+    }
+
+    private static ResponseEntity<SecondarySaleDto> found(SecondarySaleDto sale) {
+        return sale == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(sale);
+    }
+}
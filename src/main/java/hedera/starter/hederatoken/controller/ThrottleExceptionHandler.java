@@ -0,0 +1,90 @@
+package hedera.starter.hederatoken.controller;
+
+import com.hedera.hashgraph.sdk.MaxAttemptsExceededException;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.Status;
+import hedera.starter.utilities.BulkheadFullException;
+import hedera.starter.utilities.NftNotHeldException;
+import hedera.starter.utilities.QueueFullException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Turns submission backpressure and local rejections into responses clients can act on instead of 500s
+ */
+@RestControllerAdvice
+public class ThrottleExceptionHandler {
+
+    @ExceptionHandler(QueueFullException.class)
+    public ResponseEntity<String> queueFull(QueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<String> bulkheadFull(BulkheadFullException e) {
+        return unavailable(e.getMessage());
+    }
+
+    @ExceptionHandler(NftNotHeldException.class)
+    public ResponseEntity<String> nftNotHeld(NftNotHeldException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getStatus() + ": " + e.getMessage());
+    }
+
+    /**
+     * Request values the services reject, such as an out-of-range bulk count
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<String> timedOut(TimeoutException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("Operation timed out");
+    }
+
+    @ExceptionHandler(MaxAttemptsExceededException.class)
+    public ResponseEntity<String> networkBusy(MaxAttemptsExceededException e) {
+        return unavailable(e.getMessage());
+    }
+
+    @ExceptionHandler(PrecheckStatusException.class)
+    public ResponseEntity<String> precheckFailed(PrecheckStatusException e) {
+        if (e.status == Status.BUSY || e.status == Status.PLATFORM_TRANSACTION_NOT_CREATED) {
+            return unavailable(e.getMessage());
+        }
+        if (e.status == Status.NO_NEW_VALID_SIGNATURES) {
+            return alreadySigned(e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ReceiptStatusException.class)
+    public ResponseEntity<String> receiptFailed(ReceiptStatusException e) {
+        if (e.receipt.status == Status.NO_NEW_VALID_SIGNATURES) {
+            return alreadySigned(e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+    }
+
+    /**
+     * A schedule signature repeated by a party that already signed
+     */
+    private static ResponseEntity<String> alreadySigned(String message) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
+    }
+
+    private static ResponseEntity<String> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(message);
+    }
+}
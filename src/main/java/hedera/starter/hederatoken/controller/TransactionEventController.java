@@ -0,0 +1,65 @@
+package hedera.starter.hederatoken.controller;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.TokenId;
+import hedera.starter.hederatoken.dto.TransactionEventDto;
+import hedera.starter.hederatoken.service.TransactionEventService;
+import io.swagger.annotations.Api;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@Api("Streams transaction outcomes as server-sent events")
+@RequestMapping(path = "/token")
+@RequiredArgsConstructor
+public class TransactionEventController {
+
+    private final TransactionEventService transactionEventService;
+
+    @Value("${hedera.events.timeout:30m}")
+    private Duration timeout;
+
+    /**
+     * One {@code transaction} event per finalized transaction touching the account and token, if given.
+     * Event IDs are transaction IDs; the stream closes after the timeout and the client reconnects.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) String accountId,
+                             @RequestParam(required = false) String tokenId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Runnable unsubscribe = transactionEventService.subscribe(
+                accountId == null ? null : AccountId.fromString(accountId).toString(),
+                tokenId == null ? null : TokenId.fromString(tokenId).toString(),
+                new TransactionEventService.Listener() {
+                    @Override
+                    public void onEvent(TransactionEventDto event) throws IOException {
+                        emitter.send(SseEmitter.event()
+                                .id(event.getTransactionId())
+                                .name("transaction")
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void onHeartbeat() throws IOException {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void onDropped(Throwable cause) {
+                        emitter.completeWithError(cause);
+                    }
+                });
+        emitter.onCompletion(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+}
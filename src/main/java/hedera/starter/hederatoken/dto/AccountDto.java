@@ -0,0 +1,15 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountDto {
+    private String accountId;
+    private String privateKey;
+    private String publicKey;
+    private String status;
+}
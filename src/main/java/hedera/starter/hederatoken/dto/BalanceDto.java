@@ -0,0 +1,41 @@
+package hedera.starter.hederatoken.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonSerialize(using = BalanceDto.Serializer.class)
+public class BalanceDto {
+    private String accountId;
+    private long tinybars;
+
+    public static class Serializer extends StdSerializer<BalanceDto> {
+        private static final SerializableString ACCOUNT_ID = new SerializedString("accountId");
+        private static final SerializableString TINYBARS = new SerializedString("tinybars");
+
+        public Serializer() {
+            super(BalanceDto.class);
+        }
+
+        @Override
+        public void serialize(BalanceDto balance, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(ACCOUNT_ID);
+            gen.writeString(balance.accountId);
+            gen.writeFieldName(TINYBARS);
+            gen.writeNumber(balance.tinybars);
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkAssociationDto {
+    private String accountId;
+    private String privateKey;
+    private List<String> tokenIds;
+}
@@ -0,0 +1,16 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+}
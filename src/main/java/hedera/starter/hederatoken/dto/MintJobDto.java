@@ -0,0 +1,21 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MintJobDto {
+    private String jobId;
+    private String tokenId;
+    private String status;
+    private int total;
+    private int minted;
+    private int failed;
+    private List<SerialRangeDto> serialRanges;
+    private String lastError;
+}
@@ -0,0 +1,14 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NftDto {
+    private long serial;
+    private String owner;
+    private String metadata;
+}
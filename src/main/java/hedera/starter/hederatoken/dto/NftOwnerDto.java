@@ -0,0 +1,45 @@
+package hedera.starter.hederatoken.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonSerialize(using = NftOwnerDto.Serializer.class)
+public class NftOwnerDto {
+    private String tokenId;
+    private long serial;
+    private String owner;
+
+    public static class Serializer extends StdSerializer<NftOwnerDto> {
+        private static final SerializableString TOKEN_ID = new SerializedString("tokenId");
+        private static final SerializableString SERIAL = new SerializedString("serial");
+        private static final SerializableString OWNER = new SerializedString("owner");
+
+        public Serializer() {
+            super(NftOwnerDto.class);
+        }
+
+        @Override
+        public void serialize(NftOwnerDto nft, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TOKEN_ID);
+            gen.writeString(nft.tokenId);
+            gen.writeFieldName(SERIAL);
+            gen.writeNumber(nft.serial);
+            gen.writeFieldName(OWNER);
+            gen.writeString(nft.owner);
+            gen.writeEndObject();
+        }
+    }
+}
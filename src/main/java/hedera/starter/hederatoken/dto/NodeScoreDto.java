@@ -0,0 +1,16 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NodeScoreDto {
+    private String nodeId;
+    private double latencyMillis;
+    private double errorRate;
+    private long samples;
+    private double score;
+}
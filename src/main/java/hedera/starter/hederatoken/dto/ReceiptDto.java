@@ -0,0 +1,78 @@
+package hedera.starter.hederatoken.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Status and created entities of a receipt; fields a receipt does not carry are left out
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonSerialize(using = ReceiptDto.Serializer.class)
+public class ReceiptDto {
+    private String status;
+    private String accountId;
+    private String tokenId;
+    private Long totalSupply;
+    private List<Long> serials;
+
+    public static ReceiptDto from(TransactionReceipt receipt) {
+        return new ReceiptDto(receipt.status.toString(),
+                receipt.accountId == null ? null : receipt.accountId.toString(),
+                receipt.tokenId == null ? null : receipt.tokenId.toString(),
+                receipt.totalSupply,
+                receipt.serials == null || receipt.serials.isEmpty() ? null : receipt.serials);
+    }
+
+    public static class Serializer extends StdSerializer<ReceiptDto> {
+        private static final SerializableString STATUS = new SerializedString("status");
+        private static final SerializableString ACCOUNT_ID = new SerializedString("accountId");
+        private static final SerializableString TOKEN_ID = new SerializedString("tokenId");
+        private static final SerializableString TOTAL_SUPPLY = new SerializedString("totalSupply");
+        private static final SerializableString SERIALS = new SerializedString("serials");
+
+        public Serializer() {
+            super(ReceiptDto.class);
+        }
+
+        @Override
+        public void serialize(ReceiptDto receipt, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(STATUS);
+            gen.writeString(receipt.status);
+            if (receipt.accountId != null) {
+                gen.writeFieldName(ACCOUNT_ID);
+                gen.writeString(receipt.accountId);
+            }
+            if (receipt.tokenId != null) {
+                gen.writeFieldName(TOKEN_ID);
+                gen.writeString(receipt.tokenId);
+            }
+            if (receipt.totalSupply != null) {
+                gen.writeFieldName(TOTAL_SUPPLY);
+                gen.writeNumber(receipt.totalSupply);
+            }
+            if (receipt.serials != null) {
+                gen.writeFieldName(SERIALS);
+                gen.writeStartArray();
+                for (long serial : receipt.serials) {
+                    gen.writeNumber(serial);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoyaltySplitDto {
+    private String treasuryId;
+    private String status;
+    private long distributedTinybars;
+    private Map<String, Long> shares;
+    private List<String> transactionStatuses;
+}
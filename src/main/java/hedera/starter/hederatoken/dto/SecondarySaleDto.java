@@ -0,0 +1,23 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SecondarySaleDto {
+    private String scheduleId;
+    private String scheduledTransactionId;
+    private String tokenId;
+    private long serial;
+    private String sellerId;
+    private String buyerId;
+    private long price;
+    private String state;
+    private String status;
+    private List<String> signedBy;
+}
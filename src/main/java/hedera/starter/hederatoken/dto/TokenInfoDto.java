@@ -0,0 +1,91 @@
+package hedera.starter.hederatoken.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.hedera.hashgraph.sdk.TokenInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * The token fields callers use, in place of the SDK's TokenInfo with its keys and fee schedules
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonSerialize(using = TokenInfoDto.Serializer.class)
+public class TokenInfoDto {
+    private String tokenId;
+    private String name;
+    private String symbol;
+    private int decimals;
+    private long totalSupply;
+    private long maxSupply;
+    private String treasuryAccountId;
+    private String tokenType;
+    private String supplyType;
+    private boolean deleted;
+    private String memo;
+
+    public static TokenInfoDto from(TokenInfo info) {
+        return new TokenInfoDto(info.tokenId.toString(), info.name, info.symbol, info.decimals, info.totalSupply,
+                info.maxSupply, info.treasuryAccountId == null ? null : info.treasuryAccountId.toString(),
+                String.valueOf(info.tokenType), String.valueOf(info.supplyType),
+                Boolean.TRUE.equals(info.isDeleted), info.tokenMemo);
+    }
+
+    /**
+     * Writes the fields directly with pre-encoded names instead of introspecting the bean
+     */
+    public static class Serializer extends StdSerializer<TokenInfoDto> {
+        private static final SerializableString TOKEN_ID = new SerializedString("tokenId");
+        private static final SerializableString NAME = new SerializedString("name");
+        private static final SerializableString SYMBOL = new SerializedString("symbol");
+        private static final SerializableString DECIMALS = new SerializedString("decimals");
+        private static final SerializableString TOTAL_SUPPLY = new SerializedString("totalSupply");
+        private static final SerializableString MAX_SUPPLY = new SerializedString("maxSupply");
+        private static final SerializableString TREASURY_ACCOUNT_ID = new SerializedString("treasuryAccountId");
+        private static final SerializableString TOKEN_TYPE = new SerializedString("tokenType");
+        private static final SerializableString SUPPLY_TYPE = new SerializedString("supplyType");
+        private static final SerializableString DELETED = new SerializedString("deleted");
+        private static final SerializableString MEMO = new SerializedString("memo");
+
+        public Serializer() {
+            super(TokenInfoDto.class);
+        }
+
+        @Override
+        public void serialize(TokenInfoDto info, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TOKEN_ID);
+            gen.writeString(info.tokenId);
+            gen.writeFieldName(NAME);
+            gen.writeString(info.name);
+            gen.writeFieldName(SYMBOL);
+            gen.writeString(info.symbol);
+            gen.writeFieldName(DECIMALS);
+            gen.writeNumber(info.decimals);
+            gen.writeFieldName(TOTAL_SUPPLY);
+            gen.writeNumber(info.totalSupply);
+            gen.writeFieldName(MAX_SUPPLY);
+            gen.writeNumber(info.maxSupply);
+            gen.writeFieldName(TREASURY_ACCOUNT_ID);
+            gen.writeString(info.treasuryAccountId);
+            gen.writeFieldName(TOKEN_TYPE);
+            gen.writeString(info.tokenType);
+            gen.writeFieldName(SUPPLY_TYPE);
+            gen.writeString(info.supplyType);
+            gen.writeFieldName(DELETED);
+            gen.writeBoolean(info.deleted);
+            gen.writeFieldName(MEMO);
+            gen.writeString(info.memo);
+            gen.writeEndObject();
+        }
+    }
+}
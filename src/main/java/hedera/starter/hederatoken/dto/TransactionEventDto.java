@@ -0,0 +1,21 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionEventDto {
+    private String transactionId;
+    private String kind;
+    private String state;
+    private String status;
+    private List<String> accounts = new ArrayList<>();
+    private List<String> tokens = new ArrayList<>();
+    private List<Long> serials = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package hedera.starter.hederatoken.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionStatusDto {
+    private String transactionId;
+    private String state;
+    private String status;
+    private ReceiptDto receipt;
+}
@@ -0,0 +1,63 @@
+package hedera.starter.hederatoken.service;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.AccountDto;
+import hedera.starter.hederatoken.dto.BulkAssociationDto;
+import hedera.starter.hederatoken.dto.NftDto;
+import hedera.starter.hederatoken.dto.RoyaltySplitDto;
+import hedera.starter.hederatoken.dto.TokenDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link TokenService}: every call returns as soon as the
+ * transaction is submitted and completes when its receipt (or query answer) arrives.
+ */
+public interface AsyncTokenService {
+    CompletableFuture<AccountId> createAccount();
+
+    /**
+     * Creates {@code count} accounts with bounded parallelism, answering with each account and its keys,
+     * or with the failure status in place of the account ID
+     */
+    CompletableFuture<List<AccountDto>> createAccounts(int count);
+
+    CompletableFuture<TokenId> createToken(TokenDto tokenDto);
+
+    CompletableFuture<TokenInfo> getTokenInfo(String tokenId);
+
+    CompletableFuture<TransactionReceipt> tokenMint(String tokenId, String contentId);
+
+    CompletableFuture<TransactionReceipt> tokenMint(String tokenId, List<String> contentIds);
+
+    CompletableFuture<Hbar> getBalance(String accountId);
+
+    CompletableFuture<AccountId> getNftOwner(String tokenId, long serial);
+
+    /**
+     * One page of a token's NFTs, see {@link TokenReadBackend#getNfts}
+     */
+    CompletableFuture<List<NftDto>> getNfts(String tokenId, long firstSerial, int count);
+
+    CompletableFuture<Status> burnToken(TokenDto tokenDto);
+
+    CompletableFuture<String> associate(TokenDto tokenDto);
+
+    /**
+     * Associates one account with several tokens, answering with the status per token ID
+     */
+    CompletableFuture<Map<String, String>> associate(BulkAssociationDto associationDto);
+
+    CompletableFuture<String> splitRoyality();
+
+    /**
+     * Splits every configured treasury, see {@link RoyaltySplitService#splitAll()}
+     */
+    CompletableFuture<List<RoyaltySplitDto>> splitAllRoyalties();
+
+    CompletableFuture<Status> firstSellerNftTransfer(TokenDto tokenDto);
+
+    CompletableFuture<Status> buyWithAllowance(TokenDto tokenDto);
+}
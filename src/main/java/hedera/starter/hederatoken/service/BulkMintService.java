@@ -0,0 +1,15 @@
+package hedera.starter.hederatoken.service;
+
+import hedera.starter.hederatoken.dto.MintJobDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BulkMintService {
+    /**
+     * Reads a JSON array of content IDs from the stream and starts minting them in batches
+     */
+    MintJobDto startBulkMint(String tokenId, InputStream contentIds) throws IOException;
+
+    MintJobDto getJob(String jobId);
+}
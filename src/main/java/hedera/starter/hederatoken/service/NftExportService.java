@@ -0,0 +1,14 @@
+package hedera.starter.hederatoken.service;
+
+import com.hedera.hashgraph.sdk.TokenInfo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface NftExportService {
+    /**
+     * Writes the token's NFTs to the stream as newline-delimited JSON in serial order, flushing after
+     * every page so the reader gets NFTs while later pages are still being fetched
+     */
+    void writeNfts(TokenInfo token, OutputStream out) throws IOException;
+}
@@ -0,0 +1,29 @@
+package hedera.starter.hederatoken.service;
+
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import hedera.starter.hederatoken.dto.TransactionStatusDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves receipts for submitted transactions from one shared polling loop instead of one loop per caller
+ */
+public interface ReceiptTracker {
+    /**
+     * Completes with the receipt once the transaction reaches consensus, or exceptionally with
+     * {@link com.hedera.hashgraph.sdk.ReceiptStatusException} if it failed
+     */
+    CompletableFuture<TransactionReceipt> track(TransactionId transactionId);
+
+    /**
+     * One receipt query without polling, for a transaction this service did not submit and that may never
+     * reach consensus, such as the transfer a schedule runs once fully signed
+     *
+     * @return completes with null while the network has no receipt for the transaction, which is also the case
+     * from a few minutes after it reached consensus
+     */
+    CompletableFuture<TransactionReceipt> lookup(TransactionId transactionId);
+
+    TransactionStatusDto getStatus(TransactionId transactionId);
+}
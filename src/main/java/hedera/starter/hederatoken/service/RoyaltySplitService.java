@@ -0,0 +1,18 @@
+package hedera.starter.hederatoken.service;
+
+import hedera.starter.hederatoken.dto.RoyaltySplitDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface RoyaltySplitService {
+    /**
+     * Distributes the named treasury's balance above the fee reserve to the configured recipients by weight
+     */
+    CompletableFuture<RoyaltySplitDto> split(String treasury);
+
+    /**
+     * Splits every configured treasury in parallel
+     */
+    CompletableFuture<List<RoyaltySplitDto>> splitAll();
+}
@@ -0,0 +1,38 @@
+package hedera.starter.hederatoken.service;
+
+import hedera.starter.hederatoken.dto.SaleSignatureDto;
+import hedera.starter.hederatoken.dto.SecondarySaleDto;
+import hedera.starter.hederatoken.dto.TokenDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Secondary sales settled by a scheduled transfer: the schedule is created once, seller and buyer sign it
+ * whenever they are ready, and the network runs the transfer as soon as the last signature arrives.
+ * No call waits for the counterparty.
+ */
+public interface SecondarySaleService {
+    /**
+     * Schedules the transfer of the serial from {@code firstSellerAccountId} to {@code buyerId} for
+     * {@code price} hbar. A party whose private key is passed along signs with the schedule's creation and
+     * needs no signing call of its own; with both keys the sale settles right away.
+     */
+    CompletableFuture<SecondarySaleDto> createSale(TokenDto tokenDto);
+
+    /**
+     * Adds the seller's or buyer's signature to the sale's schedule
+     *
+     * @return completes with null if there is no such schedule or it is not a sale
+     * @throws IllegalArgumentException if the account is neither seller nor buyer
+     */
+    CompletableFuture<SecondarySaleDto> sign(String scheduleId, SaleSignatureDto signature);
+
+    /**
+     * The sale's state is PENDING until the schedule ran, then SUCCESS or FAILED after the transfer's receipt,
+     * or EXECUTED when that receipt has already expired. A schedule deleted or expired unsigned ends the sale
+     * as DELETED or EXPIRED.
+     *
+     * @return completes with null if there is no such schedule or it is not a sale
+     */
+    CompletableFuture<SecondarySaleDto> getSale(String scheduleId);
+}
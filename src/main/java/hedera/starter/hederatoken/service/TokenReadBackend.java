@@ -0,0 +1,43 @@
+package hedera.starter.hederatoken.service;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Hbar;
+import com.hedera.hashgraph.sdk.NftId;
+import com.hedera.hashgraph.sdk.TokenId;
+import com.hedera.hashgraph.sdk.TokenInfo;
+import hedera.starter.hederatoken.dto.NftDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source for read-only lookups, selected with {@code hedera.read.backend}: paid consensus node queries
+ * or the free mirror node REST API
+ */
+public interface TokenReadBackend {
+    CompletableFuture<TokenInfo> getTokenInfo(TokenId tokenId);
+
+    CompletableFuture<Hbar> getBalance(AccountId accountId);
+
+    CompletableFuture<AccountId> getNftOwner(NftId nftId);
+
+    /**
+     * NFTs with serials from {@code firstSerial} to {@code firstSerial + count - 1} in serial order,
+     * leaving out serials burned or not minted yet
+     */
+    CompletableFuture<List<NftDto>> getNfts(TokenId tokenId, long firstSerial, int count);
+
+    /**
+     * This service just changed the token; a backend that trails consensus must not answer reads of it
+     * from before the change
+     */
+    default void tokenWritten(TokenId tokenId) {
+    }
+
+    /**
+     * This service just changed the account's balance; a backend that trails consensus must not answer
+     * reads of it from before the change
+     */
+    default void balanceWritten(AccountId accountId) {
+    }
+}
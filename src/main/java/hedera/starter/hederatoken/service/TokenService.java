@@ -31,9 +31,9 @@ public interface TokenService {
     Status firstSellerNftTransfer(TokenDto tokenDto)
             throws PrecheckStatusException, TimeoutException, ReceiptStatusException;
 
-    //TODO
-    // second marketplace I will be use scheduled transaction,
-    // at the moment second seller can sell by secureTrade Hashpack wallet
-    // I used allowance instead of scheduled transaction
+    /**
+     * Approves an allowance and transfers in two transactions, answering with the transfer's status.
+     * Secondary sales where buyer and seller sign separately go through {@link SecondarySaleService}.
+     */
     Status buyWithAllowance(TokenDto tokenDto) throws PrecheckStatusException, TimeoutException, ReceiptStatusException;
 }
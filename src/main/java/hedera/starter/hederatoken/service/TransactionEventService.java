@@ -0,0 +1,36 @@
+package hedera.starter.hederatoken.service;
+
+import hedera.starter.hederatoken.dto.TransactionEventDto;
+
+import java.io.IOException;
+
+/**
+ * Fans out the final outcome of every submitted transaction to subscribers, so clients can follow their
+ * transactions on one stream instead of holding a request open per transaction
+ */
+public interface TransactionEventService {
+
+    void publish(TransactionEventDto event);
+
+    /**
+     * Delivers events touching the account and token, either of which may be null to match all, in order on
+     * a delivery thread. A subscriber that falls behind by more than the buffer is dropped.
+     *
+     * @return cancels the subscription
+     */
+    Runnable subscribe(String accountId, String tokenId, Listener listener);
+
+    interface Listener {
+        void onEvent(TransactionEventDto event) throws IOException;
+
+        /**
+         * Called when the stream has been idle for the heartbeat interval
+         */
+        void onHeartbeat() throws IOException;
+
+        /**
+         * Called once when the subscription is dropped for falling behind or failing to deliver
+         */
+        void onDropped(Throwable cause);
+    }
+}
@@ -0,0 +1,153 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.MicroBatcher;
+import hedera.starter.utilities.TransactionKind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Merges associations requested for the same account and signed with the same key within a short window into
+ * one TokenAssociateTransaction, and skips pairs this instance has already seen associated under that key.
+ * Keying on the signer keeps a caller with a wrong key from riding on another caller's signature.
+ */
+@Component
+@Slf4j
+public class AssociationBatcher {
+
+    private final TransactionSubmitter submitter;
+    private final MicroBatcher<Signer, Association, Status> batcher;
+    private final Set<String> associated;
+
+    public AssociationBatcher(TransactionSubmitter submitter,
+                              @Value("${hedera.associations.batch-size:10}") int batchSize,
+                              @Value("${hedera.associations.linger:20ms}") Duration linger,
+                              @Value("${hedera.associations.known-max:100000}") int knownMax) {
+        this.submitter = submitter;
+        this.batcher = new MicroBatcher<>("association", batchSize, linger, this::associateBatch);
+        this.associated = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > knownMax;
+            }
+        }));
+    }
+
+    @PreDestroy
+    void stop() {
+        batcher.close();
+    }
+
+    public CompletableFuture<Status> associate(AccountId accountId, TokenId tokenId, PrivateKey accountKey) {
+        Signer signer = new Signer(accountId, accountKey.getPublicKey().toString());
+        if (associated.contains(signer.pair(tokenId))) {
+            return CompletableFuture.completedFuture(Status.TOKEN_ALREADY_ASSOCIATED_TO_ACCOUNT);
+        }
+        return batcher.submit(signer, new Association(tokenId, accountKey, IdempotencyContext.current()));
+    }
+
+    private List<CompletableFuture<Status>> associateBatch(Signer signer, List<Association> associations) {
+        List<TokenId> tokenIds = associations.stream()
+                .map(association -> association.tokenId)
+                .distinct()
+                .collect(Collectors.toList());
+        IdempotencyContext.Listener submitted = IdempotencyContext.Listener.all(associations.stream()
+                .map(association -> association.submitted)
+                .collect(Collectors.toList()));
+        CompletableFuture<Status> batch = submit(signer, tokenIds, associations.get(0).accountKey, submitted);
+        if (tokenIds.size() == 1) {
+            return associations.stream().map(association -> batch).collect(Collectors.toList());
+        }
+
+        return associations.stream().map(association -> batch.handle((status, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(status);
+            }
+            Throwable cause = Futures.unwrap(error);
+            // one already associated token fails the whole batch, so retry the pairs one by one
+            if (cause instanceof PrecheckStatusException || cause instanceof ReceiptStatusException) {
+                return submit(signer, List.of(association.tokenId), association.accountKey, association.submitted);
+            }
+            return CompletableFuture.<Status>failedFuture(cause);
+        }).thenCompose(Function.identity())).collect(Collectors.toList());
+    }
+
+    private CompletableFuture<Status> submit(Signer signer, List<TokenId> tokenIds, PrivateKey accountKey,
+                                             IdempotencyContext.Listener submitted) {
+        AccountId accountId = signer.accountId;
+        return IdempotencyContext.with(submitted, () -> submitter.submit(TransactionKind.ASSOCIATE,
+                client -> new TokenAssociateTransaction()
+                        .setAccountId(accountId)
+                        .setTokenIds(tokenIds)
+                        .freezeWith(client),
+                accountKey
+        )).handle((receipt, error) -> {
+            if (error == null) {
+                tokenIds.forEach(tokenId -> associated.add(signer.pair(tokenId)));
+                log.info("Associated " + accountId + " with " + tokenIds + ": " + receipt.status);
+                return receipt.status;
+            }
+            Throwable cause = Futures.unwrap(error);
+            // signatures are checked before the association, so this status also vouches for the key
+            if (tokenIds.size() == 1 && cause instanceof ReceiptStatusException
+                    && ((ReceiptStatusException) cause).receipt.status == Status.TOKEN_ALREADY_ASSOCIATED_TO_ACCOUNT) {
+                associated.add(signer.pair(tokenIds.get(0)));
+                return Status.TOKEN_ALREADY_ASSOCIATED_TO_ACCOUNT;
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    private static class Signer {
+        private final AccountId accountId;
+        private final String publicKey;
+
+        private Signer(AccountId accountId, String publicKey) {
+            this.accountId = accountId;
+            this.publicKey = publicKey;
+        }
+
+        private String pair(TokenId tokenId) {
+            return accountId + "/" + publicKey + "/" + tokenId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Signer && accountId.equals(((Signer) other).accountId)
+                    && publicKey.equals(((Signer) other).publicKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, publicKey);
+        }
+
+        @Override
+        public String toString() {
+            return accountId.toString();
+        }
+    }
+
+    private static class Association {
+        private final TokenId tokenId;
+        private final PrivateKey accountKey;
+        private final IdempotencyContext.Listener submitted;
+
+        private Association(TokenId tokenId, PrivateKey accountKey, IdempotencyContext.Listener submitted) {
+            this.tokenId = tokenId;
+            this.accountKey = accountKey;
+            this.submitted = submitted;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.AccountDto;
+import hedera.starter.hederatoken.dto.BulkAssociationDto;
+import hedera.starter.hederatoken.dto.NftDto;
+import hedera.starter.hederatoken.dto.RoyaltySplitDto;
+import hedera.starter.hederatoken.dto.TokenDto;
+import hedera.starter.hederatoken.service.AsyncTokenService;
+import hedera.starter.hederatoken.service.RoyaltySplitService;
+import hedera.starter.hederatoken.service.TokenReadBackend;
+import hedera.starter.utilities.Bulkheads;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.HederaMetrics;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.KeyPool;
+import hedera.starter.utilities.KeyRegistry;
+import hedera.starter.utilities.NftOwnershipIndex;
+import hedera.starter.utilities.OperationClass;
+import hedera.starter.utilities.Priority;
+import hedera.starter.utilities.TransactionKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AsyncTokenServiceImpl implements AsyncTokenService {
+
+    private final TransactionSubmitter submitter;
+    private final TokenReadBackend readBackend;
+    private final KeyRegistry keyRegistry;
+    private final TokenReadCache readCache;
+    private final RoyaltySplitService royaltySplitService;
+    private final SaleSettlement saleSettlement;
+    private final AssociationBatcher associationBatcher;
+    private final HederaMetrics metrics;
+    private final KeyPool keyPool;
+    private final Bulkheads bulkheads;
+    private final NftOwnershipIndex ownershipIndex;
+
+    @Value("${hedera.accounts.bulk.parallelism:16}")
+    private int bulkAccountsParallelism;
+
+    @Value("${hedera.accounts.bulk.max-count:100}")
+    private int bulkAccountsMaxCount;
+
+    @Override
+    public CompletableFuture<AccountId> createAccount() {
+        PrivateKey newAccountPrivateKey = keyPool.take();
+        return operation("createAccount", OperationClass.ADMIN, () -> createAccount(newAccountPrivateKey).thenApply(newAccountId -> {
+            log.info("New account private key: " + newAccountPrivateKey);
+            return newAccountId;
+        }));
+    }
+
+    @Override
+    public CompletableFuture<List<AccountDto>> createAccounts(int count) {
+        if (count < 1 || count > bulkAccountsMaxCount) {
+            throw new IllegalArgumentException("Can create between 1 and " + bulkAccountsMaxCount + " accounts at once, not " + count);
+        }
+        return operation("createAccountBulk", OperationClass.ADMIN, () -> {
+            AccountDto[] accounts = new AccountDto[count];
+            AtomicInteger next = new AtomicInteger();
+            List<CompletableFuture<Void>> lanes = new ArrayList<>();
+            for (int lane = 0; lane < Math.min(bulkAccountsParallelism, count); lane++) {
+                lanes.add(createNextAccount(accounts, next));
+            }
+            return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0])).thenApply(done -> {
+                log.info("Bulk account creation of " + count + " accounts done");
+                return List.of(accounts);
+            });
+        });
+    }
+
+    /**
+     * Each lane creates the next account once its previous one resolves, so at most
+     * {@code hedera.accounts.bulk.parallelism} account creations are in flight
+     */
+    private CompletableFuture<Void> createNextAccount(AccountDto[] accounts, AtomicInteger next) {
+        int index = next.getAndIncrement();
+        if (index >= accounts.length) {
+            return CompletableFuture.completedFuture(null);
+        }
+        PrivateKey privateKey = keyPool.take();
+        CompletableFuture<AccountId> created;
+        try {
+            created = createAccount(privateKey);
+        } catch (RuntimeException e) {
+            created = CompletableFuture.failedFuture(e);
+        }
+        return created.handle((accountId, error) -> {
+            accounts[index] = error == null
+                    ? new AccountDto(accountId.toString(), privateKey.toString(), privateKey.getPublicKey().toString(), Status.SUCCESS.toString())
+                    : new AccountDto(null, null, null, status(error));
+            return null;
+        }).thenCompose(ignored -> createNextAccount(accounts, next));
+    }
+
+    private CompletableFuture<AccountId> createAccount(PrivateKey newAccountPrivateKey) {
+        PublicKey newAccountPublicKey = newAccountPrivateKey.getPublicKey();
+
+        return submitter.submit(TransactionKind.ACCOUNT_CREATE, client -> new AccountCreateTransaction()
+                .setKey(newAccountPublicKey)
+                .setInitialBalance(Hbar.fromTinybars(1000))
+                .freezeWith(client)
+        ).thenApply(receipt -> {
+            AccountId newAccountId = receipt.accountId;
+            assert newAccountId != null;
+            log.info("New accountId: " + newAccountId);
+            return newAccountId;
+        });
+    }
+
+    @Override
+    public CompletableFuture<TokenId> createToken(TokenDto tokenDto) {
+
+        AccountId royaltyAccountID = keyRegistry.accountId("COMMON_TREASURE_ID");
+
+        if (tokenDto != null) {
+
+            String tokenName = tokenDto.getTokenName();
+            String tokenSymbol = tokenDto.getTokenSymbol();
+            String firstSellerAccountId = tokenDto.getFirstSellerAccountId();
+            String firstSellerPrivateKey = tokenDto.getFirstSellerPrivateKey();
+            PrivateKey adminKey = keyRegistry.privateKey("adminKey");
+
+            return operation("createToken", OperationClass.MINT, () -> submitter.submit(TransactionKind.TOKEN_CREATE, client -> new TokenCreateTransaction()
+                    .setTokenName(tokenName)
+                    .setTokenSymbol(tokenSymbol)
+                    .setTokenType(TokenType.NON_FUNGIBLE_UNIQUE)
+                    .setDecimals(0)
+                    .setInitialSupply(0)
+                    .setTreasuryAccountId(AccountId.fromString(firstSellerAccountId))
+                    .setSupplyType(TokenSupplyType.FINITE)
+                    .setMaxSupply(10000)
+                    .setCustomFees(nftCustomFee(royaltyAccountID))
+                    .setAdminKey(adminKey)
+                    .setSupplyKey(keyRegistry.privateKey("supplyKey"))
+                    // .setPauseKey(pauseKey)
+                    .setFreezeKey(keyRegistry.privateKey("freezeKey"))
+                    .setWipeKey(keyRegistry.privateKey("wipeKey"))
+                    .freezeWith(client),
+                    PrivateKey.fromString(firstSellerPrivateKey), adminKey
+            ).thenApply(receipt -> {
+                TokenId tokenId = receipt.tokenId;
+                log.info("Created NFT with Token ID: " + tokenId);
+                ownershipIndex.tokenCreated(tokenId, AccountId.fromString(firstSellerAccountId));
+                return tokenId;
+            }));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<TokenInfo> getTokenInfo(String tokenId) {
+        return operation("getTokenInfo", OperationClass.READ, () -> readCache.tokenInfo(TokenId.fromString(tokenId), readBackend::getTokenInfo));
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> tokenMint(String tokenId, String contentId) {
+        return tokenMint(tokenId, List.of(contentId));
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> tokenMint(String tokenId, List<String> contentIds) {
+
+        TokenId token = TokenId.fromString(tokenId);
+
+        return operation("tokenMint", OperationClass.MINT, () -> submitter.submit(TransactionKind.MINT, client -> {
+            TokenMintTransaction tokenMintTransaction = new TokenMintTransaction().setTokenId(token);
+            contentIds.forEach(contentId -> tokenMintTransaction.addMetadata(contentId.getBytes()));
+            return tokenMintTransaction.freezeWith(client);
+        }, keyRegistry.privateKey("supplyKey")
+        ).whenComplete((receipt, error) -> readCache.invalidateToken(token)
+        ).thenApply(mintRx -> {
+            log.info("Created NFT " + tokenId + " with serials: " + mintRx.serials);
+            ownershipIndex.minted(token, mintRx.serials);
+            return mintRx;
+        }));
+    }
+
+    /**
+     * Runs an operation in its class's bulkhead and times it, queueing included
+     */
+    private <T> CompletableFuture<T> operation(String name, OperationClass operationClass, Supplier<CompletableFuture<T>> work) {
+        return metrics.operation(name, bulkheads.run(operationClass, work));
+    }
+
+    private void recordTransfer(NftId nftId, AccountId buyer, TransactionReceipt receipt, Throwable error) {
+        if (error != null) {
+            ownershipIndex.failed(nftId, error);
+        } else if (receipt.status == Status.SUCCESS) {
+            ownershipIndex.transferred(nftId, buyer);
+        }
+    }
+
+    private static String status(Throwable error) {
+        Throwable cause = Futures.unwrap(error);
+        return cause instanceof ReceiptStatusException
+                ? ((ReceiptStatusException) cause).receipt.status.toString()
+                : cause.toString();
+    }
+
+    private List<CustomFee> nftCustomFee(AccountId treasureId) {
+        List<CustomFee> list = new ArrayList<>();
+
+        CustomFee customRoyaltyFee = new CustomRoyaltyFee()
+                .setNumerator(1)
+                .setDenominator(10)
+                .setFeeCollectorAccountId(treasureId)
+                .setFallbackFee(new CustomFixedFee().setHbarAmount(new Hbar(30)));
+
+        list.add(customRoyaltyFee);
+
+        return list;
+    }
+
+    @Override
+    public CompletableFuture<Hbar> getBalance(String accountId) {
+        return operation("getBalance", OperationClass.READ, () -> readCache.balance(AccountId.fromString(accountId), readBackend::getBalance));
+    }
+
+    @Override
+    public CompletableFuture<AccountId> getNftOwner(String tokenId, long serial) {
+        return operation("getNftOwner", OperationClass.READ, () -> readBackend.getNftOwner(new NftId(TokenId.fromString(tokenId), serial)));
+    }
+
+    @Override
+    public CompletableFuture<List<NftDto>> getNfts(String tokenId, long firstSerial, int count) {
+        return operation("getNfts", OperationClass.READ, () -> readBackend.getNfts(TokenId.fromString(tokenId), firstSerial, count));
+    }
+
+    @Override
+    public CompletableFuture<Status> burnToken(TokenDto tokenDto) {
+
+        if (tokenDto != null) {
+            String tokenId = tokenDto.getTokenId();
+            Long serial = tokenDto.getSerial();
+            String supplyKeyBurn = tokenDto.getSupplyKey();
+
+            TokenId token = TokenId.fromString(tokenId);
+            NftId nftId = new NftId(token, serial);
+            ownershipIndex.checkBurn(nftId);
+
+            return operation("burnToken", OperationClass.MINT, () -> submitter.submit(TransactionKind.MINT, client -> new TokenBurnTransaction().setTokenId(token)
+                    .setSerials(List.of(serial))
+                    .freezeWith(client),
+                    PrivateKey.fromString(supplyKeyBurn)
+            ).whenComplete((receipt, error) -> {
+                readCache.invalidateToken(token);
+                if (error != null) {
+                    ownershipIndex.failed(nftId, error);
+                } else if (receipt.status == Status.SUCCESS) {
+                    ownershipIndex.burned(nftId);
+                }
+            }).thenApply(receipt -> {
+                log.info("Burn NFT with serial " + serial + " : " + receipt.status);
+                return receipt.status;
+            }));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<String> associate(TokenDto tokenDto) {
+        if (tokenDto != null) {
+            String buyerId = tokenDto.getBuyerId();
+            String tokenId = tokenDto.getTokenId();
+            String buyerPrivateKey = tokenDto.getBuyerPrivateKey();
+
+            return operation("associate", OperationClass.TRANSFER, () -> associationBatcher.associate(AccountId.fromString(buyerId), TokenId.fromString(tokenId),
+                    PrivateKey.fromString(buyerPrivateKey)
+            ).thenApply(status -> {
+                log.info(buyerId + "NFT Manual Association:" + status);
+                return status.toString();
+            }));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> associate(BulkAssociationDto associationDto) {
+        AccountId accountId = AccountId.fromString(associationDto.getAccountId());
+        PrivateKey accountKey = PrivateKey.fromString(associationDto.getPrivateKey());
+
+        return operation("associateBulk", OperationClass.TRANSFER, () -> {
+            // started once the bulkhead admits the request, so a rejected request queues nothing
+            Map<String, CompletableFuture<String>> statuses = new LinkedHashMap<>();
+            for (String tokenId : associationDto.getTokenIds()) {
+                statuses.put(tokenId, associationBatcher.associate(accountId, TokenId.fromString(tokenId), accountKey)
+                        .handle((status, error) -> error == null ? status.toString() : status(error)));
+            }
+            return CompletableFuture.allOf(statuses.values().toArray(new CompletableFuture[0])).thenApply(done -> {
+                Map<String, String> result = new LinkedHashMap<>();
+                statuses.forEach((tokenId, status) -> result.put(tokenId, status.join()));
+                log.info(accountId + " bulk association: " + result);
+                return result;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> splitRoyality() {
+        return operation("splitRoyality", OperationClass.ADMIN, () -> royaltySplitService.split("COMMON_TREASURE").thenApply(split -> {
+            if (!"SUCCESS".equals(split.getStatus())) {
+                return "Royalty split of " + split.getTreasuryId() + ": " + split.getStatus();
+            }
+            return "Split " + Hbar.fromTinybars(split.getDistributedTinybars()) + " from " + split.getTreasuryId()
+                    + ": " + split.getShares();
+        }));
+    }
+
+    @Override
+    public CompletableFuture<List<RoyaltySplitDto>> splitAllRoyalties() {
+        return operation("splitAllRoyalties", OperationClass.ADMIN, royaltySplitService::splitAll);
+    }
+
+    @Override
+    public CompletableFuture<Status> firstSellerNftTransfer(TokenDto tokenDto) {
+        if (tokenDto != null) {
+            String sellerId = tokenDto.getFirstSellerAccountId();
+            String buyerId = tokenDto.getBuyerId();
+            String buyerPrivateKey = tokenDto.getBuyerPrivateKey();
+            String tokenId = tokenDto.getTokenId();
+            Long serial = tokenDto.getSerial();
+            Long price = tokenDto.getPrice();
+
+            AccountId sellerAccount = AccountId.fromString(sellerId);
+            PrivateKey sellerKey = keyRegistry.privateKey("FIRST_SELLER_KEY");
+            AccountId buyerAccount = AccountId.fromString(buyerId);
+            NftId nftId = new NftId(TokenId.fromString(tokenId), serial);
+            ownershipIndex.checkTransfer(nftId, sellerAccount);
+
+            return operation("firstSellerNftTransfer", OperationClass.TRANSFER, () -> saleSettlement.settle(nftId,
+                    sellerAccount, sellerKey,
+                    buyerAccount, PrivateKey.fromString(buyerPrivateKey),
+                    Hbar.from(price)
+            ).whenComplete((tokenTransferRx, error) -> recordTransfer(nftId, buyerAccount, tokenTransferRx, error)
+            ).thenApply(tokenTransferRx -> {
+                log.info("NFT transfer " + sellerId + " to " + buyerId + " STATUS :" + tokenTransferRx.status);
+                return tokenTransferRx.status;
+            }));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Status> buyWithAllowance(TokenDto tokenDto) {
+        if (tokenDto != null) {
+            String sellerId = tokenDto.getFirstSellerAccountId();
+            String buyerId = tokenDto.getBuyerId();
+            String buyerPrivateKey = tokenDto.getBuyerPrivateKey();
+            String tokenId = tokenDto.getTokenId();
+            Long serial = tokenDto.getSerial();
+            Long price = tokenDto.getPrice();
+
+            AccountId sellerAccount = AccountId.fromString(sellerId);
+            AccountId buyerAccount = AccountId.fromString(buyerId);
+            PrivateKey buyerKey = PrivateKey.fromString(buyerPrivateKey);
+            NftId nftId = new NftId(TokenId.fromString(tokenId), serial);
+            ownershipIndex.checkTransfer(nftId, sellerAccount);
+            IdempotencyContext.Listener submitted = IdempotencyContext.current();
+
+            return operation("buyWithAllowance", OperationClass.TRANSFER, () -> submitter.submit(TransactionKind.TRANSFER, Priority.HIGH, client -> new AccountAllowanceApproveTransaction()
+                    .approveHbarAllowance(buyerAccount, sellerAccount, Hbar.from(price))
+                    .freezeWith(client),
+                    buyerKey
+            ).thenCompose(receipt -> {
+                log.info("Allowance from buyer : " + receipt.status);
+
+                return IdempotencyContext.with(submitted, () -> submitter.submit(TransactionKind.TRANSFER, Priority.HIGH,
+                        client -> new TransferTransaction()
+                                .addNftTransfer(nftId,
+                                        sellerAccount,
+                                        buyerAccount)
+                                .addHbarTransfer(sellerAccount, Hbar.from(price))
+                                .addHbarTransfer(buyerAccount, Hbar.from(price).negated())
+                                .freezeWith(client),
+                        buyerKey
+                )).whenComplete((receiptTransfer, error) -> {
+                    readCache.invalidateBalances(sellerAccount, buyerAccount);
+                    recordTransfer(nftId, buyerAccount, receiptTransfer, error);
+                }).thenApply(receiptTransfer -> {
+                    log.info("The transaction consensus status is " + receiptTransfer.status);
+                    return receiptTransfer.status;
+                });
+            }));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+}
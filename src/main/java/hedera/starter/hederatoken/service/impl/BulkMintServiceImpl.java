@@ -0,0 +1,227 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hedera.hashgraph.sdk.TokenId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import hedera.starter.hederatoken.dto.MintJobDto;
+import hedera.starter.hederatoken.dto.SerialRangeDto;
+import hedera.starter.hederatoken.service.AsyncTokenService;
+import hedera.starter.hederatoken.service.BulkMintService;
+import hedera.starter.utilities.Futures;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkMintServiceImpl implements BulkMintService {
+
+    // Hedera caps NFT metadata at 100 bytes per serial
+    private static final int MAX_METADATA_BYTES = 100;
+
+    private final AsyncTokenService asyncTokenService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, MintJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${hedera.mint.batch-size:10}")
+    private int batchSize;
+
+    @Value("${hedera.mint.parallelism:4}")
+    private int parallelism;
+
+    @Value("${hedera.mint.retention:1h}")
+    private Duration retention;
+
+    @Override
+    public MintJobDto startBulkMint(String tokenId, InputStream contentIds) throws IOException {
+        TokenId.fromString(tokenId);
+        List<List<String>> batches = readBatches(contentIds);
+        MintJob job = new MintJob(UUID.randomUUID().toString(), tokenId, batches);
+        jobs.put(job.id, job);
+        log.info("Bulk mint job " + job.id + " for " + tokenId + ": " + job.total + " items in " + batches.size() + " transactions");
+
+        for (int lane = 0; lane < Math.min(parallelism, batches.size()); lane++) {
+            submitNext(job);
+        }
+        if (batches.isEmpty()) {
+            job.finish();
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public MintJobDto getJob(String jobId) {
+        MintJob job = jobs.get(jobId);
+        return job == null ? null : job.toDto();
+    }
+
+    /**
+     * Forgets jobs finished longer than the retention ago
+     */
+    @Scheduled(fixedDelayString = "${hedera.mint.eviction-interval:1m}")
+    public void evictFinished() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.finishedAt != 0 && now - job.finishedAt > retention.toNanos());
+    }
+
+    /**
+     * Streams the JSON array without materializing a tree and groups the content IDs into mint-sized batches
+     */
+    private List<List<String>> readBatches(InputStream contentIds) throws IOException {
+        List<List<String>> batches = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(contentIds)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of content IDs");
+            }
+            List<String> batch = new ArrayList<>(batchSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    throw new IllegalArgumentException("Content IDs must be strings, got " + token);
+                }
+                String contentId = parser.getText();
+                if (contentId.getBytes(StandardCharsets.UTF_8).length > MAX_METADATA_BYTES) {
+                    throw new IllegalArgumentException("Content ID exceeds " + MAX_METADATA_BYTES + " bytes: " + contentId);
+                }
+                batch.add(contentId);
+                if (batch.size() == batchSize) {
+                    batches.add(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Each lane picks the next unsubmitted batch when its previous one resolves, so at most
+     * {@code parallelism} mint transactions are in flight without parking any thread
+     */
+    private void submitNext(MintJob job) {
+        int index = job.nextBatch.getAndIncrement();
+        if (index >= job.batchCount) {
+            return;
+        }
+        List<String> batch = job.batches.get(index);
+
+        CompletableFuture<TransactionReceipt> mint;
+        try {
+            mint = asyncTokenService.tokenMint(job.tokenId, batch);
+        } catch (RuntimeException e) {
+            mint = CompletableFuture.failedFuture(e);
+        }
+
+        mint.whenComplete((receipt, error) -> {
+            if (error == null) {
+                job.recordMinted(batch.size(), receipt.serials);
+            } else {
+                Throwable cause = Futures.unwrap(error);
+                log.error("Bulk mint job " + job.id + " batch " + index + " failed: " + cause);
+                job.recordFailed(batch.size(), cause.toString());
+            }
+            if (job.completedBatches.incrementAndGet() == job.batchCount) {
+                job.finish();
+            } else {
+                submitNext(job);
+            }
+        });
+    }
+
+    private static class MintJob {
+        private final String id;
+        private final String tokenId;
+        private final int batchCount;
+        private final int total;
+        private final AtomicInteger nextBatch = new AtomicInteger();
+        private final AtomicInteger completedBatches = new AtomicInteger();
+        private final AtomicInteger minted = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<SerialRangeDto> serialRanges = new ArrayList<>();
+        private volatile String lastError;
+        private volatile String status = "RUNNING";
+        // released once the job finishes, the content IDs being of no further use
+        private volatile List<List<String>> batches;
+        private volatile long finishedAt;
+
+        private MintJob(String id, String tokenId, List<List<String>> batches) {
+            this.id = id;
+            this.tokenId = tokenId;
+            this.batches = batches;
+            this.batchCount = batches.size();
+            this.total = batches.stream().mapToInt(List::size).sum();
+        }
+
+        private void recordMinted(int count, List<Long> serials) {
+            synchronized (serialRanges) {
+                for (Long serial : serials) {
+                    SerialRangeDto last = serialRanges.isEmpty() ? null : serialRanges.get(serialRanges.size() - 1);
+                    if (last != null && last.getTo() + 1 == serial) {
+                        last.setTo(serial);
+                    } else {
+                        serialRanges.add(new SerialRangeDto(serial, serial));
+                    }
+                }
+            }
+            minted.addAndGet(count);
+        }
+
+        private void recordFailed(int count, String error) {
+            failed.addAndGet(count);
+            lastError = error;
+        }
+
+        private void finish() {
+            status = failed.get() == 0 ? "COMPLETED" : "COMPLETED_WITH_ERRORS";
+            batches = null;
+            finishedAt = System.nanoTime();
+            log.info("Bulk mint job " + id + " " + status + ": minted " + minted.get() + ", failed " + failed.get());
+        }
+
+        private MintJobDto toDto() {
+            List<SerialRangeDto> ranges;
+            synchronized (serialRanges) {
+                ranges = merge(serialRanges);
+            }
+            return new MintJobDto(id, tokenId, status, total, minted.get(), failed.get(), ranges, lastError);
+        }
+
+        /**
+         * Batches complete out of order, so adjacent ranges are only coalesced when reporting
+         */
+        private static List<SerialRangeDto> merge(List<SerialRangeDto> ranges) {
+            List<SerialRangeDto> sorted = new ArrayList<>();
+            ranges.stream()
+                    .sorted(Comparator.comparingLong(SerialRangeDto::getFrom))
+                    .forEach(range -> {
+                        SerialRangeDto last = sorted.isEmpty() ? null : sorted.get(sorted.size() - 1);
+                        if (last != null && last.getTo() + 1 >= range.getFrom()) {
+                            last.setTo(Math.max(last.getTo(), range.getTo()));
+                        } else {
+                            sorted.add(new SerialRangeDto(range.getFrom(), range.getTo()));
+                        }
+                    });
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.NftDto;
+import hedera.starter.hederatoken.service.TokenReadBackend;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.HederaClientPool;
+import hedera.starter.utilities.HedgedQueries;
+import hedera.starter.utilities.Priority;
+import hedera.starter.utilities.SubmissionScheduler;
+import hedera.starter.utilities.TransactionKind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Reads through queries to consensus nodes, each pinned to one node so {@link HedgedQueries} decides
+ * which nodes are asked
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsensusReadBackend implements TokenReadBackend {
+
+    private final HederaClientPool clientPool;
+    private final SubmissionScheduler scheduler;
+    private final HedgedQueries hedgedQueries;
+
+    @Override
+    public CompletableFuture<TokenInfo> getTokenInfo(TokenId tokenId) {
+        return scheduler.schedule(TransactionKind.QUERY, Priority.NORMAL, () -> {
+            Client client = clientPool.queryClient();
+            return hedgedQueries.execute(client, node -> new TokenInfoQuery().setTokenId(tokenId)
+                    .setNodeAccountIds(List.of(node))
+                    .executeAsync(client));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Hbar> getBalance(AccountId accountId) {
+        return scheduler.schedule(TransactionKind.QUERY, Priority.NORMAL, () -> {
+            Client client = clientPool.queryClient();
+            return hedgedQueries.execute(client, node -> new AccountBalanceQuery().setAccountId(accountId)
+                    .setNodeAccountIds(List.of(node))
+                    .executeAsync(client)
+                    .thenApply(balance -> balance.hbars));
+        });
+    }
+
+    @Override
+    public CompletableFuture<AccountId> getNftOwner(NftId nftId) {
+        return scheduler.schedule(TransactionKind.QUERY, Priority.NORMAL, () -> {
+            Client client = clientPool.queryClient();
+            return hedgedQueries.execute(client, node -> new TokenNftInfoQuery().setNftId(nftId)
+                    .setNodeAccountIds(List.of(node))
+                    .executeAsync(client)
+                    .thenApply(nfts -> nfts.get(0).accountId));
+        });
+    }
+
+    /**
+     * One query per serial, queued behind interactive reads
+     */
+    @Override
+    public CompletableFuture<List<NftDto>> getNfts(TokenId tokenId, long firstSerial, int count) {
+        List<CompletableFuture<NftDto>> nfts = new ArrayList<>(count);
+        for (long serial = firstSerial; serial < firstSerial + count; serial++) {
+            NftId nftId = new NftId(tokenId, serial);
+            nfts.add(scheduler.schedule(TransactionKind.QUERY, Priority.LOW, () -> {
+                Client client = clientPool.queryClient();
+                return hedgedQueries.execute(client, node -> new TokenNftInfoQuery().setNftId(nftId)
+                        .setNodeAccountIds(List.of(node))
+                        .executeAsync(client)
+                        .thenApply(found -> toNft(found.get(0))));
+            }).exceptionally(error -> {
+                if (isMissing(error)) {
+                    return null;
+                }
+                throw new CompletionException(Futures.unwrap(error));
+            }));
+        }
+        return CompletableFuture.allOf(nfts.toArray(new CompletableFuture[0]))
+                .thenApply(done -> nfts.stream().map(CompletableFuture::join).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+
+    private static NftDto toNft(TokenNftInfo info) {
+        return new NftDto(info.nftId.serial, info.accountId.toString(), new String(info.metadata, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isMissing(Throwable error) {
+        Throwable cause = Futures.unwrap(error);
+        return cause instanceof PrecheckStatusException
+                && (((PrecheckStatusException) cause).status == Status.INVALID_NFT_ID
+                || ((PrecheckStatusException) cause).status == Status.INVALID_TOKEN_NFT_SERIAL_NUMBER);
+    }
+}
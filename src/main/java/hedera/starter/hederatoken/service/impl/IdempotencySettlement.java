@@ -0,0 +1,134 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.TransactionId;
+import hedera.starter.hederatoken.dto.TransactionStatusDto;
+import hedera.starter.hederatoken.service.ReceiptTracker;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.IdempotencyJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Settles idempotency keys whose request ended without a response worth replaying, such as a 504 after a
+ * transaction was sent, once the transactions submitted for them are final: released if none of them was
+ * applied, so a retry is carried out, and otherwise completed with their statuses for retries to replay
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencySettlement {
+
+    private final IdempotencyJournal journal;
+    private final ReceiptTracker receiptTracker;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Outcomes> outcomes = new ConcurrentHashMap<>();
+
+    /**
+     * Records the final outcome of a transaction submitted for {@code key}
+     */
+    public void resolved(String key, TransactionId transactionId, Throwable error) {
+        IdempotencyJournal.Entry entry = journal.get(key);
+        if (entry == null || entry.isComplete()) {
+            return;
+        }
+        Outcomes pending = outcomes.computeIfAbsent(key, k -> new Outcomes());
+        synchronized (pending) {
+            pending.statuses.put(transactionId.toString(), statusOf(transactionId, error));
+        }
+        trySettle(key, pending);
+    }
+
+    /**
+     * The request for {@code key} ended without a response; the key is settled as soon as every transaction
+     * submitted for it is
+     */
+    public void abandoned(String key) {
+        Outcomes pending = outcomes.computeIfAbsent(key, k -> new Outcomes());
+        synchronized (pending) {
+            pending.abandoned = true;
+        }
+        trySettle(key, pending);
+    }
+
+    /**
+     * Releases the key if none of the transactions was applied and all of them are accounted for, otherwise
+     * completes it with their statuses
+     */
+    public void settle(String key, List<TransactionStatusDto> statuses) {
+        IdempotencyJournal.Entry entry = journal.get(key);
+        if (entry == null || entry.isComplete()) {
+            return;
+        }
+        boolean noneApplied = statuses.stream().allMatch(status -> "FAILED".equals(status.getState()));
+        if (noneApplied && entry.getTransactionIds().size() == statuses.size()) {
+            log.info("Released idempotency key " + key + ", none of its transactions were applied");
+            journal.remove(key);
+            return;
+        }
+        try {
+            journal.complete(key, HttpStatus.OK.value(), MediaType.APPLICATION_JSON_VALUE, objectMapper.writeValueAsBytes(statuses));
+            log.info("Completed idempotency key " + key + " with the outcome of its transactions");
+        } catch (JsonProcessingException e) {
+            log.error("Could not complete idempotency key " + key, e);
+        }
+    }
+
+    /**
+     * Drops outcomes kept for keys whose request went on to complete normally
+     */
+    @Scheduled(fixedDelayString = "${hedera.idempotency.compact-interval:10m}")
+    public void evictSettled() {
+        outcomes.keySet().removeIf(key -> {
+            IdempotencyJournal.Entry entry = journal.get(key);
+            return entry == null || entry.isComplete();
+        });
+    }
+
+    private void trySettle(String key, Outcomes pending) {
+        List<TransactionStatusDto> statuses;
+        synchronized (pending) {
+            IdempotencyJournal.Entry entry = journal.get(key);
+            if (!pending.abandoned || pending.settled || entry == null
+                    || !pending.statuses.keySet().containsAll(entry.getTransactionIds())) {
+                return;
+            }
+            pending.settled = true;
+            statuses = new ArrayList<>(pending.statuses.values());
+        }
+        outcomes.remove(key);
+        settle(key, statuses);
+    }
+
+    private TransactionStatusDto statusOf(TransactionId transactionId, Throwable error) {
+        TransactionStatusDto status = receiptTracker.getStatus(transactionId);
+        if (status != null && !"PENDING".equals(status.getState())) {
+            return status;
+        }
+        Throwable cause = error == null ? null : Futures.unwrap(error);
+        if (cause instanceof PrecheckStatusException) {
+            // turned away, so it never reached consensus
+            return new TransactionStatusDto(transactionId.toString(), "FAILED",
+                    ((PrecheckStatusException) cause).status.toString(), null);
+        }
+        return new TransactionStatusDto(transactionId.toString(), "UNKNOWN", cause == null ? null : cause.toString(), null);
+    }
+
+    private static class Outcomes {
+        private final Map<String, TransactionStatusDto> statuses = new LinkedHashMap<>();
+        private boolean abandoned;
+        private boolean settled;
+    }
+}
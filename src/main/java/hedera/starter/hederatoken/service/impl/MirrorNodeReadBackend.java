@@ -0,0 +1,304 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Hbar;
+import com.hedera.hashgraph.sdk.NftId;
+import com.hedera.hashgraph.sdk.TokenId;
+import com.hedera.hashgraph.sdk.TokenInfo;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.Key;
+import com.hedera.hashgraph.sdk.proto.TokenID;
+import com.hedera.hashgraph.sdk.proto.TokenSupplyType;
+import com.hedera.hashgraph.sdk.proto.TokenType;
+import hedera.starter.hederatoken.dto.NftDto;
+import hedera.starter.hederatoken.service.TokenReadBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serves reads from the mirror node REST API and falls back to consensus queries when the mirror
+ * is unreachable, does not know the entity yet, or its latest transaction is older than {@code hedera.mirror.max-lag}.
+ * Reads of a token or balance this service changed also go to consensus until the mirror's latest transaction
+ * is newer than the change, so callers read their own writes.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "hedera.read.backend", havingValue = "mirror")
+@Slf4j
+public class MirrorNodeReadBackend implements TokenReadBackend {
+
+    private final ConsensusReadBackend consensus;
+    private final ObjectMapper objectMapper;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Duration maxLag;
+    private final Duration lagCheckInterval;
+
+    private final Map<TokenId, Instant> tokenWrites = new ConcurrentHashMap<>();
+    private final Map<AccountId, Instant> balanceWrites = new ConcurrentHashMap<>();
+
+    private volatile CompletableFuture<Boolean> freshness;
+    private volatile long freshnessCheckedAt;
+    private volatile Instant mirrorTime = Instant.EPOCH;
+
+    public MirrorNodeReadBackend(ConsensusReadBackend consensus,
+                                 ObjectMapper objectMapper,
+                                 @Value("${hedera.mirror.url:https://testnet.mirrornode.hedera.com}") String baseUrl,
+                                 @Value("${hedera.mirror.timeout:2s}") Duration timeout,
+                                 @Value("${hedera.mirror.max-lag:10s}") Duration maxLag,
+                                 @Value("${hedera.mirror.lag-check-interval:2s}") Duration lagCheckInterval) {
+        this.consensus = consensus;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.maxLag = maxLag;
+        this.lagCheckInterval = lagCheckInterval;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+        log.info("Serving reads from mirror node " + baseUrl);
+    }
+
+    @Override
+    public CompletableFuture<TokenInfo> getTokenInfo(TokenId tokenId) {
+        return withFallback("token " + tokenId, tokenWrites.get(tokenId),
+                () -> fetch("/api/v1/tokens/" + tokenId).thenApply(this::toTokenInfo),
+                () -> consensus.getTokenInfo(tokenId));
+    }
+
+    @Override
+    public CompletableFuture<Hbar> getBalance(AccountId accountId) {
+        return withFallback("balance " + accountId, balanceWrites.get(accountId),
+                () -> fetch("/api/v1/accounts/" + accountId).thenApply(account -> {
+                    JsonNode balance = account.path("balance");
+                    if (isStale(balance.path("timestamp").asText())) {
+                        throw new IllegalStateException("Mirror balance snapshot is older than " + maxLag);
+                    }
+                    return Hbar.fromTinybars(balance.path("balance").asLong());
+                }),
+                () -> consensus.getBalance(accountId));
+    }
+
+    @Override
+    public CompletableFuture<AccountId> getNftOwner(NftId nftId) {
+        return withFallback("nft " + nftId, tokenWrites.get(nftId.tokenId),
+                () -> fetch("/api/v1/tokens/" + nftId.tokenId + "/nfts/" + nftId.serial)
+                        .thenApply(nft -> AccountId.fromString(nft.path("account_id").asText())),
+                () -> consensus.getNftOwner(nftId));
+    }
+
+    /**
+     * The mirror serves at most 100 NFTs per request, so pages larger than that are cut short
+     */
+    @Override
+    public CompletableFuture<List<NftDto>> getNfts(TokenId tokenId, long firstSerial, int count) {
+        return withFallback("nfts " + tokenId + " from " + firstSerial, tokenWrites.get(tokenId),
+                () -> fetch("/api/v1/tokens/" + tokenId + "/nfts?order=asc&limit=" + count
+                        + "&serialnumber=gte:" + firstSerial + "&serialnumber=lte:" + (firstSerial + count - 1))
+                        .thenApply(this::toNfts),
+                () -> consensus.getNfts(tokenId, firstSerial, count));
+    }
+
+    /**
+     * The receipt of a write arrives after its consensus, so the wall clock now bounds its consensus time
+     */
+    @Override
+    public void tokenWritten(TokenId tokenId) {
+        tokenWrites.put(tokenId, Instant.now());
+    }
+
+    @Override
+    public void balanceWritten(AccountId accountId) {
+        balanceWrites.put(accountId, Instant.now());
+    }
+
+    /**
+     * @param writtenAt when this service last changed what is read, or null
+     */
+    private <T> CompletableFuture<T> withFallback(String what,
+                                                  Instant writtenAt,
+                                                  Supplier<CompletableFuture<T>> mirror,
+                                                  Supplier<CompletableFuture<T>> fallback) {
+        return isFresh().thenCompose(fresh -> {
+            if (!fresh || (writtenAt != null && !mirrorTime.isAfter(writtenAt))) {
+                return fallback.get();
+            }
+            return mirror.get().handle((value, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(value);
+                }
+                log.debug("Mirror lookup of " + what + " failed, querying consensus nodes: " + error);
+                return fallback.get();
+            }).thenCompose(Function.identity());
+        });
+    }
+
+    /**
+     * Compares the mirror's newest transaction with the wall clock, re-checking at most once per interval
+     */
+    private CompletableFuture<Boolean> isFresh() {
+        long now = System.nanoTime();
+        CompletableFuture<Boolean> current = freshness;
+        if (current != null && now - freshnessCheckedAt < lagCheckInterval.toNanos()) {
+            return current;
+        }
+        freshnessCheckedAt = now;
+        current = fetch("/api/v1/transactions?limit=1&order=desc")
+                .thenApply(latest -> {
+                    String timestamp = latest.path("transactions").path(0).path("consensus_timestamp").asText();
+                    if (!timestamp.isEmpty()) {
+                        caughtUpTo(toInstant(timestamp));
+                    }
+                    return !isStale(timestamp);
+                })
+                .exceptionally(error -> false);
+        freshness = current;
+        return current;
+    }
+
+    /**
+     * Forgets writes the mirror has seen, and those older than max-lag, which it must have seen by the time
+     * it counts as fresh again
+     */
+    private void caughtUpTo(Instant latest) {
+        mirrorTime = latest;
+        Instant seenBy = latest.isAfter(Instant.now().minus(maxLag)) ? latest : Instant.now().minus(maxLag);
+        tokenWrites.values().removeIf(writtenAt -> !writtenAt.isAfter(seenBy));
+        balanceWrites.values().removeIf(writtenAt -> !writtenAt.isAfter(seenBy));
+    }
+
+    private boolean isStale(String mirrorTimestamp) {
+        if (mirrorTimestamp == null || mirrorTimestamp.isEmpty()) {
+            return true;
+        }
+        return Duration.between(toInstant(mirrorTimestamp), Instant.now()).compareTo(maxLag) > 0;
+    }
+
+    private static Instant toInstant(String mirrorTimestamp) {
+        // mirror timestamps are "<seconds>.<nanos>"
+        String[] parts = mirrorTimestamp.split("\\.");
+        return Instant.ofEpochSecond(Long.parseLong(parts[0]), parts.length > 1 ? Long.parseLong(parts[1]) : 0);
+    }
+
+    private CompletableFuture<JsonNode> fetch(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Mirror node returned " + response.statusCode() + " for " + path);
+            }
+            try {
+                return objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * The SDK only builds TokenInfo from its protobuf form, so the mirror's JSON is mapped onto that.
+     * Custom fees are not carried over.
+     */
+    private TokenInfo toTokenInfo(JsonNode token) {
+        TokenId tokenId = TokenId.fromString(token.path("token_id").asText());
+        AccountId treasury = AccountId.fromString(token.path("treasury_account_id").asText());
+
+        com.hedera.hashgraph.sdk.proto.TokenInfo.Builder info = com.hedera.hashgraph.sdk.proto.TokenInfo.newBuilder()
+                .setTokenId(TokenID.newBuilder()
+                        .setShardNum(tokenId.shard)
+                        .setRealmNum(tokenId.realm)
+                        .setTokenNum(tokenId.num))
+                .setName(token.path("name").asText())
+                .setSymbol(token.path("symbol").asText())
+                .setDecimals(token.path("decimals").asInt())
+                .setTotalSupply(token.path("total_supply").asLong())
+                .setMaxSupply(token.path("max_supply").asLong())
+                .setTreasury(AccountID.newBuilder()
+                        .setShardNum(treasury.shard)
+                        .setRealmNum(treasury.realm)
+                        .setAccountNum(treasury.num))
+                .setTokenType("NON_FUNGIBLE_UNIQUE".equals(token.path("type").asText())
+                        ? TokenType.NON_FUNGIBLE_UNIQUE : TokenType.FUNGIBLE_COMMON)
+                .setSupplyType("FINITE".equals(token.path("supply_type").asText())
+                        ? TokenSupplyType.FINITE : TokenSupplyType.INFINITE)
+                .setMemo(token.path("memo").asText())
+                .setDeleted(token.path("deleted").asBoolean());
+
+        Key adminKey = toKey(token.path("admin_key"));
+        if (adminKey != null) {
+            info.setAdminKey(adminKey);
+        }
+        Key supplyKey = toKey(token.path("supply_key"));
+        if (supplyKey != null) {
+            info.setSupplyKey(supplyKey);
+        }
+        Key freezeKey = toKey(token.path("freeze_key"));
+        if (freezeKey != null) {
+            info.setFreezeKey(freezeKey);
+        }
+        Key wipeKey = toKey(token.path("wipe_key"));
+        if (wipeKey != null) {
+            info.setWipeKey(wipeKey);
+        }
+        try {
+            return TokenInfo.fromBytes(info.build().toByteArray());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException("Could not map mirror token " + tokenId, e);
+        }
+    }
+
+    private List<NftDto> toNfts(JsonNode page) {
+        List<NftDto> nfts = new ArrayList<>();
+        for (JsonNode nft : page.path("nfts")) {
+            if (nft.path("deleted").asBoolean()) {
+                continue;
+            }
+            nfts.add(new NftDto(nft.path("serial_number").asLong(),
+                    nft.path("account_id").asText(),
+                    new String(Base64.getDecoder().decode(nft.path("metadata").asText()), StandardCharsets.UTF_8)));
+        }
+        return nfts;
+    }
+
+    private static Key toKey(JsonNode key) {
+        if (!"ED25519".equals(key.path("_type").asText())) {
+            return null;
+        }
+        return Key.newBuilder().setEd25519(ByteString.copyFrom(hexToBytes(key.path("key").asText()))).build();
+    }
+
+    private static byte[] hexToBytes(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,132 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.NftId;
+import com.hedera.hashgraph.sdk.TokenId;
+import hedera.starter.utilities.NftOwnershipIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Reads the owners of every serial of the tokens in the {@link NftOwnershipIndex} from the mirror node's
+ * per-token NFT listing and reports them to the index. Only those tokens are read, never the network's whole
+ * transaction feed. A pass over all of them may span several polls of at most max-pages pages each; once it
+ * ends, the index counts as synced up to the mirror's newest transaction when the pass began.
+ */
+@Component
+@ConditionalOnProperty(name = "hedera.ownership.mirror-feed.enabled", havingValue = "true")
+@Slf4j
+public class MirrorOwnershipFeed {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final NftOwnershipIndex ownershipIndex;
+    private final ObjectMapper objectMapper;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final int maxPages;
+    private final Deque<TokenId> pass = new ArrayDeque<>();
+    private Instant passAsOf;
+    private long afterSerial;
+
+    public MirrorOwnershipFeed(NftOwnershipIndex ownershipIndex,
+                               ObjectMapper objectMapper,
+                               @Value("${hedera.mirror.url:https://testnet.mirrornode.hedera.com}") String baseUrl,
+                               @Value("${hedera.mirror.timeout:2s}") Duration timeout,
+                               @Value("${hedera.ownership.mirror-feed.max-pages:10}") int maxPages) {
+        this.ownershipIndex = ownershipIndex;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.maxPages = maxPages;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+        log.info("Following NFT owners from mirror node " + baseUrl);
+    }
+
+    @Scheduled(fixedDelayString = "${hedera.ownership.mirror-feed.interval:2s}")
+    public void poll() {
+        try {
+            for (int page = 0; page < maxPages; page++) {
+                if (pass.isEmpty()) {
+                    passAsOf = latestConsensusTime();
+                    pass.addAll(ownershipIndex.tokens());
+                    afterSerial = 0;
+                    if (pass.isEmpty()) {
+                        ownershipIndex.synced(passAsOf);
+                        return;
+                    }
+                }
+                TokenId tokenId = pass.peek();
+                JsonNode nfts = fetch("/api/v1/tokens/" + tokenId + "/nfts?order=asc&limit=" + PAGE_SIZE
+                        + "&serialnumber=gt:" + afterSerial).path("nfts");
+                for (JsonNode nft : nfts) {
+                    afterSerial = nft.path("serial_number").asLong();
+                    ownershipIndex.reported(new NftId(tokenId, afterSerial),
+                            nft.path("deleted").asBoolean() ? null : account(nft.path("account_id")));
+                }
+                if (nfts.size() < PAGE_SIZE) {
+                    pass.poll();
+                    afterSerial = 0;
+                    if (pass.isEmpty()) {
+                        ownershipIndex.synced(passAsOf);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Mirror ownership feed poll failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The consensus time of the mirror's newest transaction, which trails the network by the mirror's own lag
+     */
+    private Instant latestConsensusTime() throws IOException, InterruptedException {
+        String timestamp = fetch("/api/v1/transactions?limit=1&order=desc")
+                .path("transactions").path(0).path("consensus_timestamp").asText();
+        if (timestamp.isEmpty()) {
+            return Instant.now();
+        }
+        // mirror timestamps are "<seconds>.<nanos>"
+        String[] parts = timestamp.split("\\.");
+        return Instant.ofEpochSecond(Long.parseLong(parts[0]), parts.length > 1 ? Long.parseLong(parts[1]) : 0);
+    }
+
+    private static AccountId account(JsonNode accountId) {
+        return accountId.isTextual() ? AccountId.fromString(accountId.asText()) : null;
+    }
+
+    private JsonNode fetch(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            // a token too new for the mirror, or unknown to it; read as having no serials yet
+            return objectMapper.createObjectNode();
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Mirror node returned " + response.statusCode() + " for " + path);
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,94 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hedera.hashgraph.sdk.TokenInfo;
+import hedera.starter.hederatoken.dto.NftDto;
+import hedera.starter.hederatoken.service.AsyncTokenService;
+import hedera.starter.hederatoken.service.NftExportService;
+import hedera.starter.utilities.Futures;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reads serials in pages, keeping up to {@code hedera.nfts.export.parallelism} pages in flight, and writes each
+ * page as soon as it and the pages before it are in. Only the pages in flight are held in memory.
+ * <p>
+ * An infinite-supply token has no highest serial to stop at, and its total supply may be out of date by the time
+ * the pages are read, so its export also ends after {@code hedera.nfts.export.max-empty-pages} empty pages in a row.
+ */
+@Service
+@Slf4j
+public class NftExportServiceImpl implements NftExportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final AsyncTokenService asyncTokenService;
+    private final ObjectWriter writer;
+    private final int pageSize;
+    private final int parallelism;
+    private final int maxEmptyPages;
+
+    public NftExportServiceImpl(AsyncTokenService asyncTokenService,
+                                ObjectMapper objectMapper,
+                                @Value("${hedera.nfts.export.page-size:100}") int pageSize,
+                                @Value("${hedera.nfts.export.parallelism:4}") int parallelism,
+                                @Value("${hedera.nfts.export.max-empty-pages:10}") int maxEmptyPages) {
+        this.asyncTokenService = asyncTokenService;
+        this.writer = objectMapper.writerFor(NftDto.class);
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.maxEmptyPages = maxEmptyPages;
+    }
+
+    @Override
+    public void writeNfts(TokenInfo token, OutputStream out) throws IOException {
+        String tokenId = token.tokenId.toString();
+        // serials are never reused, so a finite token has none above its max supply; burned serials leave gaps
+        long lastSerial = token.maxSupply > 0 ? token.maxSupply : Long.MAX_VALUE;
+        Deque<CompletableFuture<List<NftDto>>> pages = new ArrayDeque<>();
+        long nextSerial = 1;
+        long written = 0;
+        int emptyPages = 0;
+        try {
+            while (written < token.totalSupply) {
+                while (pages.size() < parallelism && nextSerial <= lastSerial) {
+                    int count = (int) Math.min(pageSize, lastSerial - nextSerial + 1);
+                    pages.add(asyncTokenService.getNfts(tokenId, nextSerial, count));
+                    nextSerial += count;
+                }
+                if (pages.isEmpty()) {
+                    break;
+                }
+                List<NftDto> page = pages.poll().join();
+                for (NftDto nft : page) {
+                    out.write(writer.writeValueAsBytes(nft));
+                    out.write(NEWLINE);
+                    written++;
+                }
+                out.flush();
+                emptyPages = page.isEmpty() ? emptyPages + 1 : 0;
+                if (lastSerial == Long.MAX_VALUE && emptyPages >= maxEmptyPages) {
+                    log.info("NFT export of " + tokenId + " ended after " + emptyPages + " empty pages with "
+                            + written + " of " + token.totalSupply + " NFTs");
+                    break;
+                }
+            }
+        } catch (CompletionException e) {
+            log.warn("NFT export of " + tokenId + " stopped after " + written + " NFTs: " + Futures.unwrap(e));
+            throw e;
+        } finally {
+            pages.forEach(page -> page.cancel(false));
+        }
+        log.debug("Exported " + written + " NFTs of " + tokenId);
+    }
+}
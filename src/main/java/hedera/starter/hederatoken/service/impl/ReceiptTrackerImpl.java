@@ -0,0 +1,260 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.ReceiptDto;
+import hedera.starter.hederatoken.dto.TransactionStatusDto;
+import hedera.starter.hederatoken.service.ReceiptTracker;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.HederaClientPool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReceiptTrackerImpl implements ReceiptTracker {
+
+    private final HederaClientPool clientPool;
+    private final Map<TransactionId, Pending> pending = new ConcurrentHashMap<>();
+    private final DelayQueue<Pending> due = new DelayQueue<>();
+    private final AtomicInteger queriesInFlight = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "receipt-tracker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${hedera.receipts.poll-interval:100ms}")
+    private Duration pollInterval;
+
+    @Value("${hedera.receipts.min-backoff:250ms}")
+    private Duration minBackoff;
+
+    @Value("${hedera.receipts.max-backoff:4s}")
+    private Duration maxBackoff;
+
+    @Value("${hedera.receipts.max-concurrent-queries:32}")
+    private int maxConcurrentQueries;
+
+    @Value("${hedera.receipts.timeout:3m}")
+    private Duration timeout;
+
+    @Value("${hedera.receipts.retained:10000}")
+    private int retained;
+
+    private Map<TransactionId, Resolved> resolved;
+
+    // Running estimate of submit-to-consensus latency, used to schedule the first poll
+    private volatile long expectedLatencyNanos = TimeUnit.SECONDS.toNanos(3);
+
+    @PostConstruct
+    void start() {
+        resolved = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TransactionId, Resolved> eldest) {
+                return size() > retained;
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> track(TransactionId transactionId) {
+        Resolved done = resolved.get(transactionId);
+        if (done != null && done.receipt != null) {
+            return CompletableFuture.completedFuture(done.receipt);
+        }
+        return pending.computeIfAbsent(transactionId, id -> {
+            Pending entry = new Pending(id);
+            entry.scheduleIn(Math.max(minBackoff.toNanos(), expectedLatencyNanos * 4 / 5));
+            due.add(entry);
+            return entry;
+        }).future;
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> lookup(TransactionId transactionId) {
+        Resolved done = resolved.get(transactionId);
+        if (done != null && done.receipt != null) {
+            return CompletableFuture.completedFuture(done.receipt);
+        }
+        return new TransactionReceiptQuery()
+                .setTransactionId(transactionId)
+                .setMaxAttempts(1)
+                .executeAsync(clientPool.queryClient())
+                .handle((receipt, error) -> {
+                    if (error != null) {
+                        Throwable cause = Futures.unwrap(error);
+                        if (isNotYetKnown(cause)) {
+                            return null;
+                        }
+                        throw new CompletionException(cause);
+                    }
+                    if (receipt.status == Status.UNKNOWN) {
+                        return null;
+                    }
+                    resolved.put(transactionId, new Resolved(receipt, statusOf(transactionId, receipt)));
+                    return receipt;
+                });
+    }
+
+    @Override
+    public TransactionStatusDto getStatus(TransactionId transactionId) {
+        if (pending.containsKey(transactionId)) {
+            return new TransactionStatusDto(transactionId.toString(), "PENDING", null, null);
+        }
+        Resolved done = resolved.get(transactionId);
+        return done == null ? null : done.status;
+    }
+
+    /**
+     * Issues receipt queries for every entry whose backoff has elapsed, bounded by the concurrent query budget
+     */
+    private void poll() {
+        try {
+            Pending entry;
+            while (queriesInFlight.get() < maxConcurrentQueries && (entry = due.poll()) != null) {
+                if (System.nanoTime() - entry.submittedAt > timeout.toNanos()) {
+                    fail(entry, new TimeoutException("No receipt for " + entry.transactionId + " after " + timeout));
+                    continue;
+                }
+                query(entry);
+            }
+        } catch (RuntimeException e) {
+            log.error("Receipt polling failed", e);
+        }
+    }
+
+    private void query(Pending entry) {
+        queriesInFlight.incrementAndGet();
+        entry.attempts++;
+        new TransactionReceiptQuery()
+                .setTransactionId(entry.transactionId)
+                // a single attempt per poll: retrying is the tracker's job, not the SDK's
+                .setMaxAttempts(1)
+                .executeAsync(clientPool.queryClient())
+                .whenComplete((receipt, error) -> {
+                    queriesInFlight.decrementAndGet();
+                    if (error != null) {
+                        onError(entry, Futures.unwrap(error));
+                    } else if (receipt.status == Status.UNKNOWN) {
+                        reschedule(entry);
+                    } else {
+                        resolve(entry, receipt);
+                    }
+                });
+    }
+
+    private void onError(Pending entry, Throwable cause) {
+        if (isNotYetKnown(cause)) {
+            reschedule(entry);
+        } else {
+            fail(entry, cause);
+        }
+    }
+
+    private static boolean isNotYetKnown(Throwable cause) {
+        if (cause instanceof MaxAttemptsExceededException || cause instanceof TimeoutException) {
+            return true;
+        }
+        if (cause instanceof PrecheckStatusException) {
+            Status status = ((PrecheckStatusException) cause).status;
+            return status == Status.BUSY || status == Status.UNKNOWN || status == Status.RECEIPT_NOT_FOUND;
+        }
+        return false;
+    }
+
+    private void reschedule(Pending entry) {
+        entry.backoffNanos = entry.backoffNanos == 0
+                ? minBackoff.toNanos()
+                : Math.min(maxBackoff.toNanos(), entry.backoffNanos * 2);
+        entry.scheduleIn(entry.backoffNanos);
+        due.add(entry);
+    }
+
+    private void resolve(Pending entry, TransactionReceipt receipt) {
+        long latency = System.nanoTime() - entry.submittedAt;
+        expectedLatencyNanos = (expectedLatencyNanos * 7 + latency) / 8;
+
+        resolved.put(entry.transactionId, new Resolved(receipt, statusOf(entry.transactionId, receipt)));
+        pending.remove(entry.transactionId);
+        log.debug("Receipt for " + entry.transactionId + " after " + entry.attempts + " polls: " + receipt.status);
+
+        if (receipt.status == Status.SUCCESS) {
+            entry.future.complete(receipt);
+            return;
+        }
+        try {
+            receipt.validateStatus(true);
+            entry.future.complete(receipt);
+        } catch (ReceiptStatusException e) {
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    private static TransactionStatusDto statusOf(TransactionId transactionId, TransactionReceipt receipt) {
+        return new TransactionStatusDto(transactionId.toString(), receipt.status == Status.SUCCESS ? "SUCCESS" : "FAILED",
+                receipt.status.toString(), ReceiptDto.from(receipt));
+    }
+
+    private void fail(Pending entry, Throwable cause) {
+        resolved.put(entry.transactionId, new Resolved(null, new TransactionStatusDto(entry.transactionId.toString(),
+                "UNKNOWN", cause.toString(), null)));
+        pending.remove(entry.transactionId);
+        log.error("Giving up on receipt for " + entry.transactionId + ": " + cause);
+        entry.future.completeExceptionally(cause);
+    }
+
+    private static class Resolved {
+        private final TransactionReceipt receipt;
+        private final TransactionStatusDto status;
+
+        private Resolved(TransactionReceipt receipt, TransactionStatusDto status) {
+            this.receipt = receipt;
+            this.status = status;
+        }
+    }
+
+    private static class Pending implements Delayed {
+        private final TransactionId transactionId;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private final long submittedAt = System.nanoTime();
+        private volatile long nextPollAt;
+        private long backoffNanos;
+        private int attempts;
+
+        private Pending(TransactionId transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        private void scheduleIn(long delayNanos) {
+            nextPollAt = System.nanoTime() + delayNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextPollAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(nextPollAt, ((Pending) other).nextPollAt);
+        }
+    }
+}
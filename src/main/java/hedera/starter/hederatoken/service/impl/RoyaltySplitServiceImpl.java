@@ -0,0 +1,205 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.RoyaltySplitDto;
+import hedera.starter.hederatoken.service.RoyaltySplitService;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.KeyRegistry;
+import hedera.starter.utilities.Priority;
+import hedera.starter.utilities.TransactionKind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RoyaltySplitServiceImpl implements RoyaltySplitService {
+
+    private final TransactionSubmitter submitter;
+    private final ConsensusReadBackend consensus;
+    private final KeyRegistry keyRegistry;
+    private final TokenReadCache readCache;
+    private final List<String> treasuries;
+    private final List<String> recipients = new ArrayList<>();
+    private final long[] weights;
+    private final long reserveTinybars;
+    private final int recipientsPerTransaction;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public RoyaltySplitServiceImpl(TransactionSubmitter submitter,
+                                   ConsensusReadBackend consensus,
+                                   KeyRegistry keyRegistry,
+                                   TokenReadCache readCache,
+                                   @Value("${hedera.royalty.treasuries:COMMON_TREASURE}") List<String> treasuries,
+                                   @Value("${hedera.royalty.recipients:FIRST_FEE_ID1:75,SECOND_FEE_ID2:25}") List<String> recipients,
+                                   @Value("${hedera.royalty.reserve-hbar:10}") long reserveHbar,
+                                   @Value("${hedera.royalty.max-transfer-legs:10}") int maxTransferLegs) {
+        this.submitter = submitter;
+        this.consensus = consensus;
+        this.keyRegistry = keyRegistry;
+        this.readCache = readCache;
+        this.treasuries = treasuries;
+        this.weights = new long[recipients.size()];
+        for (int i = 0; i < recipients.size(); i++) {
+            String[] recipient = recipients.get(i).split(":");
+            this.recipients.add(recipient[0]);
+            this.weights[i] = Long.parseLong(recipient[1]);
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Royalty recipient " + recipient[0] + " has negative weight " + weights[i]);
+            }
+        }
+        if (Arrays.stream(weights).sum() == 0) {
+            throw new IllegalArgumentException("Royalty recipient weights add up to zero: " + recipients);
+        }
+        if (maxTransferLegs < 2) {
+            throw new IllegalArgumentException("Royalty transfers need at least 2 legs, one debit and one credit, not " + maxTransferLegs);
+        }
+        this.reserveTinybars = Hbar.from(reserveHbar).toTinybars();
+        // one leg of every transfer is the treasury debit
+        this.recipientsPerTransaction = maxTransferLegs - 1;
+    }
+
+    @Scheduled(cron = "${hedera.royalty.schedule:-}")
+    public void scheduledSplit() {
+        splitAll().thenAccept(results -> results.forEach(result ->
+                log.info("Scheduled royalty split of " + result.getTreasuryId() + ": " + result.getStatus())));
+    }
+
+    @Override
+    public CompletableFuture<List<RoyaltySplitDto>> splitAll() {
+        List<CompletableFuture<RoyaltySplitDto>> splits = treasuries.stream()
+                .map(this::split)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(splits.toArray(new CompletableFuture[0]))
+                .thenApply(done -> splits.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<RoyaltySplitDto> split(String treasury) {
+        AccountId treasuryId = keyRegistry.accountId(treasury + "_ID");
+        PrivateKey treasuryKey = keyRegistry.privateKey(treasury + "_KEY");
+        IdempotencyContext.Listener submitted = IdempotencyContext.current();
+        if (!running.add(treasury)) {
+            // a second split would read the same balance and overdraw the treasury
+            return CompletableFuture.completedFuture(result(treasuryId, "ALREADY_RUNNING", Map.of(), List.of()));
+        }
+
+        CompletableFuture<Hbar> treasuryBalance;
+        try {
+            treasuryBalance = consensus.getBalance(treasuryId);
+        } catch (RuntimeException e) {
+            running.remove(treasury);
+            throw e;
+        }
+        return treasuryBalance.thenCompose(balance -> {
+            long distributable = balance.toTinybars() - reserveTinybars;
+            if (distributable <= 0) {
+                return CompletableFuture.completedFuture(result(treasuryId, "NOT_ENOUGH_HBAR", Map.of(), List.of()));
+            }
+            Map<AccountId, Long> shares = shares(distributable);
+            List<CompletableFuture<String>> transfers = chunks(shares).stream()
+                    .map(chunk -> IdempotencyContext.with(submitted, () -> transfer(treasuryId, treasuryKey, chunk)))
+                    .collect(Collectors.toList());
+
+            return CompletableFuture.allOf(transfers.toArray(new CompletableFuture[0])).thenApply(done -> {
+                List<String> statuses = transfers.stream().map(CompletableFuture::join).collect(Collectors.toList());
+                boolean allSucceeded = statuses.stream().allMatch(Status.SUCCESS.toString()::equals);
+                return result(treasuryId, allSucceeded ? "SUCCESS" : "FAILED", shares, statuses);
+            });
+        }).whenComplete((result, error) -> running.remove(treasury));
+    }
+
+    private CompletableFuture<String> transfer(AccountId treasuryId, PrivateKey treasuryKey, Map<AccountId, Long> chunk) {
+        long total = chunk.values().stream().mapToLong(Long::longValue).sum();
+        AccountId[] touched = new ArrayList<>(chunk.keySet()).toArray(new AccountId[0]);
+
+        return submitter.submit(TransactionKind.TRANSFER, Priority.LOW, client -> {
+            TransferTransaction transfer = new TransferTransaction()
+                    .addHbarTransfer(treasuryId, Hbar.fromTinybars(-total));
+            chunk.forEach((recipient, amount) -> transfer.addHbarTransfer(recipient, Hbar.fromTinybars(amount)));
+            return transfer.freezeWith(client);
+        }, treasuryKey).handle((receipt, error) -> {
+            readCache.invalidateBalances(treasuryId);
+            readCache.invalidateBalances(touched);
+            if (error != null) {
+                Throwable cause = Futures.unwrap(error);
+                log.error("Royalty transfer of " + total + " tinybars from " + treasuryId + " failed: " + cause);
+                return cause instanceof ReceiptStatusException
+                        ? ((ReceiptStatusException) cause).receipt.status.toString()
+                        : cause.toString();
+            }
+            log.info("Royalty transfer of " + total + " tinybars from " + treasuryId + ": " + receipt.status);
+            return receipt.status.toString();
+        });
+    }
+
+    private Map<AccountId, Long> shares(long distributable) {
+        long[] shares = apportion(distributable, weights);
+        Map<AccountId, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < shares.length; i++) {
+            if (shares[i] > 0) {
+                result.merge(keyRegistry.accountId(recipients.get(i)), shares[i], Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Exact tinybar apportionment by weight using the largest remainder method, so the shares always
+     * add up to the distributable amount
+     */
+    static long[] apportion(long distributable, long[] weights) {
+        BigInteger amount = BigInteger.valueOf(distributable);
+        BigInteger totalWeight = BigInteger.valueOf(Arrays.stream(weights).sum());
+        long[] shares = new long[weights.length];
+        BigInteger[] remainders = new BigInteger[weights.length];
+        long assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            BigInteger[] quotient = amount.multiply(BigInteger.valueOf(weights[i])).divideAndRemainder(totalWeight);
+            shares[i] = quotient[0].longValue();
+            remainders[i] = quotient[1];
+            assigned += shares[i];
+        }
+        Integer[] byRemainder = new Integer[weights.length];
+        for (int i = 0; i < byRemainder.length; i++) {
+            byRemainder[i] = i;
+        }
+        Arrays.sort(byRemainder, (a, b) -> remainders[b].compareTo(remainders[a]));
+        for (int i = 0; assigned < distributable; i++, assigned++) {
+            shares[byRemainder[i]]++;
+        }
+        return shares;
+    }
+
+    private List<Map<AccountId, Long>> chunks(Map<AccountId, Long> shares) {
+        List<Map<AccountId, Long>> chunks = new ArrayList<>();
+        Map<AccountId, Long> chunk = new LinkedHashMap<>();
+        for (Map.Entry<AccountId, Long> share : shares.entrySet()) {
+            chunk.put(share.getKey(), share.getValue());
+            if (chunk.size() == recipientsPerTransaction) {
+                chunks.add(chunk);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static RoyaltySplitDto result(AccountId treasuryId, String status, Map<AccountId, Long> shares,
+                                          List<String> statuses) {
+        Map<String, Long> sharesById = new LinkedHashMap<>();
+        shares.forEach((accountId, amount) -> sharesById.put(accountId.toString(), amount));
+        long distributed = shares.values().stream().mapToLong(Long::longValue).sum();
+        return new RoyaltySplitDto(treasuryId.toString(), status, distributed, sharesById, statuses);
+    }
+}
@@ -0,0 +1,122 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.MicroBatcher;
+import hedera.starter.utilities.Priority;
+import hedera.starter.utilities.TransactionKind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Settles primary sales, coalescing concurrent sales by the same seller into one TransferTransaction.
+ * A batch the network rejects is retried sale by sale so one bad sale does not fail its neighbours.
+ */
+@Component
+@Slf4j
+public class SaleSettlement {
+
+    private final TransactionSubmitter submitter;
+    private final TokenReadCache readCache;
+    private final MicroBatcher<AccountId, Sale, TransactionReceipt> batcher;
+
+    public SaleSettlement(TransactionSubmitter submitter,
+                          TokenReadCache readCache,
+                          @Value("${hedera.sales.batch-size:5}") int batchSize,
+                          @Value("${hedera.sales.linger:20ms}") Duration linger) {
+        this.submitter = submitter;
+        this.readCache = readCache;
+        this.batcher = new MicroBatcher<>("sale-settlement", batchSize, linger, this::settleBatch);
+    }
+
+    @PreDestroy
+    void stop() {
+        batcher.close();
+    }
+
+    public CompletableFuture<TransactionReceipt> settle(NftId nftId, AccountId seller, PrivateKey sellerKey,
+                                                        AccountId buyer, PrivateKey buyerKey, Hbar price) {
+        return batcher.submit(seller, new Sale(nftId, sellerKey, buyer, buyerKey, price.toTinybars(),
+                IdempotencyContext.current()));
+    }
+
+    private List<CompletableFuture<TransactionReceipt>> settleBatch(AccountId seller, List<Sale> sales) {
+        if (sales.size() == 1) {
+            return List.of(submit(seller, sales));
+        }
+        CompletableFuture<TransactionReceipt> batch = submit(seller, sales).whenComplete((receipt, error) -> {
+            if (error == null) {
+                log.info("Settled " + sales.size() + " sales by " + seller + " in one transfer: " + receipt.status);
+            } else {
+                log.warn("Batch of " + sales.size() + " sales by " + seller + " failed: " + Futures.unwrap(error));
+            }
+        });
+
+        return sales.stream().map(sale -> batch.handle((receipt, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(receipt);
+            }
+            Throwable cause = Futures.unwrap(error);
+            // only resubmit when the network definitely did not apply the batch
+            if (cause instanceof PrecheckStatusException || cause instanceof ReceiptStatusException) {
+                return submit(seller, List.of(sale));
+            }
+            return CompletableFuture.<TransactionReceipt>failedFuture(cause);
+        }).thenCompose(Function.identity())).collect(Collectors.toList());
+    }
+
+    private CompletableFuture<TransactionReceipt> submit(AccountId seller, List<Sale> sales) {
+        // a buyer may appear in several sales of one batch, and each account may only have one hbar leg
+        Map<AccountId, Long> hbar = new LinkedHashMap<>();
+        // keyed by public key so a buyer with several sales signs once
+        Map<String, PrivateKey> signers = new LinkedHashMap<>();
+        signers.put(sales.get(0).sellerKey.getPublicKey().toString(), sales.get(0).sellerKey);
+        for (Sale sale : sales) {
+            hbar.merge(seller, sale.price, Long::sum);
+            hbar.merge(sale.buyer, -sale.price, Long::sum);
+            signers.putIfAbsent(sale.buyerKey.getPublicKey().toString(), sale.buyerKey);
+        }
+        AccountId[] touched = hbar.keySet().toArray(new AccountId[0]);
+        IdempotencyContext.Listener submitted = IdempotencyContext.Listener.all(sales.stream()
+                .map(sale -> sale.submitted)
+                .collect(Collectors.toList()));
+
+        return IdempotencyContext.with(submitted, () -> submitter.submit(TransactionKind.TRANSFER, Priority.HIGH, client -> {
+            TransferTransaction transfer = new TransferTransaction();
+            for (Sale sale : sales) {
+                transfer.addNftTransfer(sale.nftId, seller, sale.buyer);
+            }
+            hbar.forEach((account, tinybars) -> transfer.addHbarTransfer(account, Hbar.fromTinybars(tinybars)));
+            return transfer.freezeWith(client);
+        }, signers.values().toArray(new PrivateKey[0])
+        )).whenComplete((receipt, error) -> readCache.invalidateBalances(touched));
+    }
+
+    private static class Sale {
+        private final NftId nftId;
+        private final PrivateKey sellerKey;
+        private final AccountId buyer;
+        private final PrivateKey buyerKey;
+        private final long price;
+        private final IdempotencyContext.Listener submitted;
+
+        private Sale(NftId nftId, PrivateKey sellerKey, AccountId buyer, PrivateKey buyerKey, long price,
+                     IdempotencyContext.Listener submitted) {
+            this.nftId = nftId;
+            this.sellerKey = sellerKey;
+            this.buyer = buyer;
+            this.buyerKey = buyerKey;
+            this.price = price;
+            this.submitted = submitted;
+        }
+    }
+}
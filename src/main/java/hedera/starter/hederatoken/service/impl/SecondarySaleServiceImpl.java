@@ -0,0 +1,411 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.SaleSignatureDto;
+import hedera.starter.hederatoken.dto.SecondarySaleDto;
+import hedera.starter.hederatoken.dto.TokenDto;
+import hedera.starter.hederatoken.service.ReceiptTracker;
+import hedera.starter.hederatoken.service.SecondarySaleService;
+import hedera.starter.hederatoken.service.TransactionEventService;
+import hedera.starter.utilities.Bulkheads;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.HederaClientPool;
+import hedera.starter.utilities.HederaMetrics;
+import hedera.starter.utilities.NftOwnershipIndex;
+import hedera.starter.utilities.OperationClass;
+import hedera.starter.utilities.Priority;
+import hedera.starter.utilities.SubmissionScheduler;
+import hedera.starter.utilities.TransactionKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Follows each sale from its schedule's creation to the scheduled transfer's execution. Whether the transfer
+ * ran is read from the schedule itself, which the network keeps until it expires; the transfer's receipt only
+ * adds whether it succeeded, and is gone a few minutes after execution. A sale created by another instance
+ * or before a restart is rebuilt from its schedule on first use.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SecondarySaleServiceImpl implements SecondarySaleService {
+
+    private static final String SELLER = "seller";
+    private static final String BUYER = "buyer";
+
+    private final TransactionSubmitter submitter;
+    private final HederaClientPool clientPool;
+    private final SubmissionScheduler scheduler;
+    private final ReceiptTracker receiptTracker;
+    private final TransactionEventService events;
+    private final TokenReadCache readCache;
+    private final NftOwnershipIndex ownershipIndex;
+    private final HederaMetrics metrics;
+    private final Bulkheads bulkheads;
+    private final Map<String, Sale> sales = new ConcurrentHashMap<>();
+
+    @Value("${hedera.sales.secondary.expiry:30m}")
+    private Duration expiry;
+
+    @Value("${hedera.sales.secondary.retention:1h}")
+    private Duration retention;
+
+    @Override
+    public CompletableFuture<SecondarySaleDto> createSale(TokenDto tokenDto) {
+        if (tokenDto == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        AccountId seller = AccountId.fromString(tokenDto.getFirstSellerAccountId());
+        AccountId buyer = AccountId.fromString(tokenDto.getBuyerId());
+        NftId nftId = new NftId(TokenId.fromString(tokenDto.getTokenId()), tokenDto.getSerial());
+        long price = tokenDto.getPrice();
+        ownershipIndex.checkTransfer(nftId, seller);
+
+        // signatures on the creation count towards the schedule, sparing each party present a signing transaction
+        Map<String, PrivateKey> signers = new LinkedHashMap<>();
+        if (tokenDto.getFirstSellerPrivateKey() != null) {
+            signers.put(SELLER, PrivateKey.fromString(tokenDto.getFirstSellerPrivateKey()));
+        }
+        if (tokenDto.getBuyerPrivateKey() != null) {
+            signers.put(BUYER, PrivateKey.fromString(tokenDto.getBuyerPrivateKey()));
+        }
+
+        return operation("createSecondarySale", () -> submitter.submit(TransactionKind.TRANSFER, Priority.HIGH, client -> new ScheduleCreateTransaction()
+                .setScheduledTransaction(transfer(nftId, seller, buyer, price))
+                .setScheduleMemo("Sale of " + nftId)
+                .freezeWith(client),
+                signers.values().toArray(new PrivateKey[0])
+        ).handle((receipt, error) -> {
+            if (error == null) {
+                Sale sale = register(new Sale(receipt.scheduleId, receipt.scheduledTransactionId, nftId, seller, buyer, price));
+                sale.signed(signers.keySet());
+                log.info("Sale of " + nftId + " scheduled as " + sale.scheduleId + ", signed by " + signers.keySet());
+                return sale.isFullySigned() ? settle(sale, false) : CompletableFuture.completedFuture(sale.toDto());
+            }
+            Throwable cause = Futures.unwrap(error);
+            if (cause instanceof ReceiptStatusException
+                    && ((ReceiptStatusException) cause).receipt.status == Status.IDENTICAL_SCHEDULE_ALREADY_CREATED) {
+                // a retried request; the signatures on the rejected creation were not added
+                TransactionReceipt existing = ((ReceiptStatusException) cause).receipt;
+                log.info("Sale of " + nftId + " already scheduled as " + existing.scheduleId);
+                return settle(register(new Sale(existing.scheduleId, existing.scheduledTransactionId, nftId, seller, buyer, price)), false);
+            }
+            return CompletableFuture.<SecondarySaleDto>failedFuture(cause);
+        }).thenCompose(Function.identity()));
+    }
+
+    @Override
+    public CompletableFuture<SecondarySaleDto> sign(String scheduleId, SaleSignatureDto signature) {
+        AccountId account = AccountId.fromString(signature.getAccountId());
+        PrivateKey key = PrivateKey.fromString(signature.getPrivateKey());
+
+        return operation("signSecondarySale", () -> find(scheduleId).thenCompose(sale -> {
+            if (sale == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            String party = sale.party(account);
+            if (!sale.isPending()) {
+                return CompletableFuture.completedFuture(sale.toDto());
+            }
+            return submitter.submit(TransactionKind.TRANSFER, Priority.HIGH, client -> new ScheduleSignTransaction()
+                    .setScheduleId(sale.scheduleId)
+                    .freezeWith(client),
+                    key
+            ).handle((receipt, error) -> {
+                if (error == null) {
+                    sale.signed(List.of(party));
+                    return settle(sale, false);
+                }
+                Throwable cause = Futures.unwrap(error);
+                Status status = status(cause);
+                if (status == Status.SCHEDULE_ALREADY_EXECUTED) {
+                    return settle(sale, false);
+                }
+                if (status == Status.NO_NEW_VALID_SIGNATURES) {
+                    // the schedule already carries this party's signature
+                    sale.signed(List.of(party));
+                } else if (status == Status.SCHEDULE_ALREADY_DELETED) {
+                    sale.delete();
+                } else if (status == Status.INVALID_SCHEDULE_ID) {
+                    sale.expire();
+                }
+                return CompletableFuture.<SecondarySaleDto>failedFuture(cause);
+            }).thenCompose(Function.identity());
+        }));
+    }
+
+    @Override
+    public CompletableFuture<SecondarySaleDto> getSale(String scheduleId) {
+        return operation("getSecondarySale", OperationClass.READ, () -> find(scheduleId).thenCompose(sale -> sale == null
+                ? CompletableFuture.completedFuture(null)
+                : settle(sale, false)));
+    }
+
+    /**
+     * Forgets sales finished longer than the retention ago, and checks the schedules of pending sales that
+     * are fully signed or past their expiry: the first had their settlement fail, the second may have been
+     * completed by a signature added elsewhere
+     */
+    @Scheduled(fixedDelayString = "${hedera.sales.secondary.eviction-interval:1m}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        sales.values().removeIf(sale -> !sale.isPending() && now - sale.finishedAt > retention.toNanos());
+        for (Sale sale : sales.values()) {
+            boolean expiring = now - sale.createdAt > expiry.toNanos();
+            if (sale.isPending() && (expiring || sale.isFullySigned())) {
+                settle(sale, expiring).whenComplete((dto, error) -> {
+                    if (error != null) {
+                        log.warn("Could not check the schedule of sale " + sale.scheduleId + ": " + Futures.unwrap(error));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * The sale this instance knows, or else one rebuilt from the schedule
+     *
+     * @return completes with null if there is no such schedule or it is not a sale
+     */
+    private CompletableFuture<Sale> find(String scheduleId) {
+        ScheduleId id = ScheduleId.fromString(scheduleId);
+        Sale known = sales.get(id.toString());
+        if (known != null) {
+            return CompletableFuture.completedFuture(known);
+        }
+        return scheduleInfo(id).handle((info, error) -> {
+            if (error != null) {
+                Throwable cause = Futures.unwrap(error);
+                if (status(cause) == Status.INVALID_SCHEDULE_ID) {
+                    return null;
+                }
+                throw new CompletionException(cause);
+            }
+            Sale sale = fromSchedule(info);
+            if (sale == null) {
+                return null;
+            }
+            log.debug("Rebuilt sale of " + sale.nftId + " from schedule " + sale.scheduleId);
+            return register(sale);
+        });
+    }
+
+    private Sale register(Sale sale) {
+        Sale known = sales.putIfAbsent(sale.scheduleId.toString(), sale);
+        return known == null ? sale : known;
+    }
+
+    /**
+     * Reads the schedule to learn whether the transfer ran, then its receipt to learn how it went
+     *
+     * @param expiring expire the sale unless the schedule ran, was deleted or is still alive
+     */
+    private CompletableFuture<SecondarySaleDto> settle(Sale sale, boolean expiring) {
+        if (!sale.isPending()) {
+            return CompletableFuture.completedFuture(sale.toDto());
+        }
+        return scheduleInfo(sale.scheduleId).handle((info, error) -> {
+            if (error != null) {
+                Throwable cause = Futures.unwrap(error);
+                if (status(cause) != Status.INVALID_SCHEDULE_ID) {
+                    return CompletableFuture.<SecondarySaleDto>failedFuture(cause);
+                }
+                // expired schedules are purged from the network's state
+                sale.expire();
+            } else if (info.executedAt != null) {
+                return executed(sale);
+            } else if (info.deletedAt != null) {
+                sale.delete();
+            } else if (expiring && (info.expirationTime == null || info.expirationTime.isBefore(Instant.now()))) {
+                sale.expire();
+            }
+            return CompletableFuture.completedFuture(sale.toDto());
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<SecondarySaleDto> executed(Sale sale) {
+        return receiptTracker.lookup(sale.scheduledTransactionId).exceptionally(error -> null).thenApply(receipt -> {
+            if (sale.finish(receipt == null ? null : receipt.status)) {
+                settled(sale, receipt);
+            }
+            return sale.toDto();
+        });
+    }
+
+    /**
+     * @param receipt null once the network no longer has it, leaving the transfer's outcome unknown
+     */
+    private void settled(Sale sale, TransactionReceipt receipt) {
+        log.info("Sale of " + sale.nftId + " from " + sale.seller + " to " + sale.buyer + " executed: "
+                + (receipt == null ? "outcome unknown, its receipt has expired" : receipt.status));
+        readCache.invalidateBalances(sale.seller, sale.buyer);
+        Throwable error = null;
+        if (receipt == null) {
+            ownershipIndex.forget(sale.nftId);
+            error = new TimeoutException("Receipt for " + sale.scheduledTransactionId + " has expired");
+        } else {
+            try {
+                receipt.validateStatus(true);
+                ownershipIndex.transferred(sale.nftId, sale.buyer);
+            } catch (ReceiptStatusException e) {
+                ownershipIndex.failed(sale.nftId, e);
+            }
+        }
+        events.publish(TransactionEvents.resolved(TransactionEvents.submitted(sale.scheduledTransactionId, TransactionKind.TRANSFER,
+                transfer(sale.nftId, sale.seller, sale.buyer, sale.price)), receipt, error));
+    }
+
+    private CompletableFuture<ScheduleInfo> scheduleInfo(ScheduleId scheduleId) {
+        return scheduler.schedule(TransactionKind.QUERY, Priority.NORMAL, () -> new ScheduleInfoQuery()
+                .setScheduleId(scheduleId)
+                .executeAsync(clientPool.queryClient()));
+    }
+
+    private <T> CompletableFuture<T> operation(String name, Supplier<CompletableFuture<T>> work) {
+        return operation(name, OperationClass.TRANSFER, work);
+    }
+
+    private <T> CompletableFuture<T> operation(String name, OperationClass operationClass, Supplier<CompletableFuture<T>> work) {
+        return metrics.operation(name, bulkheads.run(operationClass, work));
+    }
+
+    private static TransferTransaction transfer(NftId nftId, AccountId seller, AccountId buyer, long price) {
+        return new TransferTransaction()
+                .addNftTransfer(nftId, seller, buyer)
+                .addHbarTransfer(seller, Hbar.from(price))
+                .addHbarTransfer(buyer, Hbar.from(price).negated());
+    }
+
+    /**
+     * @return null unless the schedule runs a transfer of one NFT against hbar, as sales do
+     */
+    private static Sale fromSchedule(ScheduleInfo info) {
+        Transaction<?> scheduled = info.getScheduledTransaction();
+        if (!(scheduled instanceof TransferTransaction)) {
+            return null;
+        }
+        TransferTransaction transfer = (TransferTransaction) scheduled;
+        Map<TokenId, List<TokenNftTransfer>> nfts = transfer.getTokenNftTransfers();
+        if (nfts.size() != 1) {
+            return null;
+        }
+        Map.Entry<TokenId, List<TokenNftTransfer>> token = nfts.entrySet().iterator().next();
+        if (token.getValue().size() != 1) {
+            return null;
+        }
+        TokenNftTransfer nft = token.getValue().get(0);
+        Hbar price = transfer.getHbarTransfers().get(nft.sender);
+        if (price == null) {
+            return null;
+        }
+        return new Sale(info.scheduleId, info.scheduledTransactionId, new NftId(token.getKey(), nft.serial),
+                nft.sender, nft.receiver, price.getValue().longValue());
+    }
+
+    private static Status status(Throwable cause) {
+        return cause instanceof ReceiptStatusException ? ((ReceiptStatusException) cause).receipt.status
+                : cause instanceof PrecheckStatusException ? ((PrecheckStatusException) cause).status
+                : null;
+    }
+
+    private static class Sale {
+        private final ScheduleId scheduleId;
+        private final TransactionId scheduledTransactionId;
+        private final NftId nftId;
+        private final AccountId seller;
+        private final AccountId buyer;
+        private final long price;
+        private final long createdAt = System.nanoTime();
+        private final List<String> signedBy = new ArrayList<>();
+        private String state = "PENDING";
+        private Status status;
+        private volatile long finishedAt;
+
+        private Sale(ScheduleId scheduleId, TransactionId scheduledTransactionId, NftId nftId,
+                     AccountId seller, AccountId buyer, long price) {
+            this.scheduleId = scheduleId;
+            this.scheduledTransactionId = scheduledTransactionId;
+            this.nftId = nftId;
+            this.seller = seller;
+            this.buyer = buyer;
+            this.price = price;
+        }
+
+        private String party(AccountId account) {
+            if (account.equals(seller)) {
+                return SELLER;
+            }
+            if (account.equals(buyer)) {
+                return BUYER;
+            }
+            throw new IllegalArgumentException(account + " is neither seller nor buyer of sale " + scheduleId);
+        }
+
+        private synchronized void signed(Iterable<String> parties) {
+            for (String party : parties) {
+                if (!signedBy.contains(party)) {
+                    signedBy.add(party);
+                }
+            }
+        }
+
+        private synchronized boolean isFullySigned() {
+            return signedBy.contains(SELLER) && signedBy.contains(BUYER);
+        }
+
+        private synchronized boolean isPending() {
+            return "PENDING".equals(state);
+        }
+
+        /**
+         * @param receiptStatus null when the transfer ran but its receipt is gone
+         * @return false if the sale was already finished
+         */
+        private synchronized boolean finish(Status receiptStatus) {
+            if (!isPending()) {
+                return false;
+            }
+            state = receiptStatus == null ? "EXECUTED" : receiptStatus == Status.SUCCESS ? "SUCCESS" : "FAILED";
+            status = receiptStatus;
+            finishedAt = System.nanoTime();
+            return true;
+        }
+
+        private void expire() {
+            end("EXPIRED");
+        }
+
+        private void delete() {
+            end("DELETED");
+        }
+
+        private synchronized void end(String finalState) {
+            if (isPending()) {
+                state = finalState;
+                finishedAt = System.nanoTime();
+            }
+        }
+
+        private synchronized SecondarySaleDto toDto() {
+            return new SecondarySaleDto(scheduleId.toString(), scheduledTransactionId.toString(),
+                    nftId.tokenId.toString(), nftId.serial, seller.toString(), buyer.toString(), price,
+                    state, status == null ? null : status.toString(), new ArrayList<>(signedBy));
+        }
+    }
+}
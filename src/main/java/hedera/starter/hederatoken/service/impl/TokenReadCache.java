@@ -0,0 +1,67 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Hbar;
+import com.hedera.hashgraph.sdk.TokenId;
+import com.hedera.hashgraph.sdk.TokenInfo;
+import hedera.starter.hederatoken.dto.CacheStatsDto;
+import hedera.starter.hederatoken.service.TokenReadBackend;
+import hedera.starter.utilities.ReadThroughCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Caches the paid token info and balance queries; writes made through this service invalidate the
+ * entries they touch so readers see our own changes immediately. The read backend is told of each write
+ * too, so the reload that follows is not served from a mirror node that has yet to see it.
+ */
+@Component
+public class TokenReadCache {
+
+    private final ReadThroughCache<TokenId, TokenInfo> tokenInfo;
+    private final ReadThroughCache<AccountId, Hbar> balances;
+    private final TokenReadBackend readBackend;
+
+    public TokenReadCache(TokenReadBackend readBackend,
+                          @Value("${hedera.cache.token-info.max-size:1000}") int tokenInfoMaxSize,
+                          @Value("${hedera.cache.token-info.ttl:30s}") Duration tokenInfoTtl,
+                          @Value("${hedera.cache.balance.max-size:10000}") int balanceMaxSize,
+                          @Value("${hedera.cache.balance.ttl:5s}") Duration balanceTtl) {
+        this.tokenInfo = new ReadThroughCache<>(tokenInfoMaxSize, tokenInfoTtl);
+        this.balances = new ReadThroughCache<>(balanceMaxSize, balanceTtl);
+        this.readBackend = readBackend;
+    }
+
+    public CompletableFuture<TokenInfo> tokenInfo(TokenId tokenId, Function<TokenId, CompletableFuture<TokenInfo>> loader) {
+        return tokenInfo.get(tokenId, loader);
+    }
+
+    public CompletableFuture<Hbar> balance(AccountId accountId, Function<AccountId, CompletableFuture<Hbar>> loader) {
+        return balances.get(accountId, loader);
+    }
+
+    public void invalidateToken(TokenId tokenId) {
+        readBackend.tokenWritten(tokenId);
+        tokenInfo.invalidate(tokenId);
+    }
+
+    public void invalidateBalances(AccountId... accountIds) {
+        for (AccountId accountId : accountIds) {
+            readBackend.balanceWritten(accountId);
+            balances.invalidate(accountId);
+        }
+    }
+
+    public List<CacheStatsDto> stats() {
+        return List.of(stats("tokenInfo", tokenInfo), stats("balance", balances));
+    }
+
+    private static CacheStatsDto stats(String name, ReadThroughCache<?, ?> cache) {
+        return new CacheStatsDto(name, cache.hits(), cache.misses(), cache.evictions(), cache.size());
+    }
+}
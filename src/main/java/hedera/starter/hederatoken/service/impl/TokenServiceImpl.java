@@ -2,300 +2,74 @@ package hedera.starter.hederatoken.service.impl;
 
 import com.hedera.hashgraph.sdk.*;
 import hedera.starter.hederatoken.dto.TokenDto;
+import hedera.starter.hederatoken.service.AsyncTokenService;
 import hedera.starter.hederatoken.service.TokenService;
-import hedera.starter.utilities.HederaClient;
-import hedera.starter.utilities.PrivateKeys;
-import io.github.cdimascio.dotenv.Dotenv;
-import lombok.extern.slf4j.Slf4j;
+import hedera.starter.utilities.KeyPool;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.TimeoutException;
 
+import static hedera.starter.utilities.Futures.await;
+import static hedera.starter.utilities.Futures.awaitQuery;
+
+/**
+ * Blocking facade over {@link AsyncTokenService} for callers that still want the synchronous API
+ */
 @Service
-@Slf4j
+@RequiredArgsConstructor
 public class TokenServiceImpl implements TokenService {
 
-    private final Client client = HederaClient.getHederaClientInstance();
-    private final PrivateKey supplyKey = PrivateKeys.getPrivateKeyInstance("supplyKey");
-    private final PrivateKey adminKey = PrivateKeys.getPrivateKeyInstance("adminKey");
-    private final PrivateKey freezeKey = PrivateKeys.getPrivateKeyInstance("freezeKey");
-    private final PrivateKey wipeKey = PrivateKeys.getPrivateKeyInstance("wipeKey");
+    private final AsyncTokenService asyncTokenService;
+    private final KeyPool keyPool;
 
     public AccountId createAccount() throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
-        PrivateKey newAccountPrivateKey = PrivateKey.generateED25519();
-        PublicKey newAccountPublicKey = newAccountPrivateKey.getPublicKey();
-
-        TransactionResponse newAccount = new AccountCreateTransaction()
-                .setKey(newAccountPublicKey)
-                .setInitialBalance(Hbar.fromTinybars(1000))
-                .execute(client);
-
-        AccountId newAccountId = newAccount.getReceipt(client).accountId;
-        assert newAccountId != null;
-        log.info("New accountId: " + newAccountId);
-        log.info("New account private key: " + newAccountPrivateKey);
-
-        return newAccountId;
+        return await(asyncTokenService.createAccount());
     }
 
     public TokenId createToken(TokenDto tokenDto) throws PrecheckStatusException, TimeoutException,
             ReceiptStatusException {
-
-        AccountId royaltyAccountID = AccountId.fromString(Objects.requireNonNull(Dotenv.load().get("COMMON_TREASURE_ID")));
-
-        if (tokenDto != null) {
-
-            String tokenName = tokenDto.getTokenName();
-            String tokenSymbol = tokenDto.getTokenSymbol();
-            String firstSellerAccountId = tokenDto.getFirstSellerAccountId();
-            String firstSellerPrivateKey = tokenDto.getFirstSellerPrivateKey();
-
-            TokenCreateTransaction nftCreate = new TokenCreateTransaction()
-                    .setTokenName(tokenName)
-                    .setTokenSymbol(tokenSymbol)
-                    .setTokenType(TokenType.NON_FUNGIBLE_UNIQUE)
-                    .setDecimals(0)
-                    .setInitialSupply(0)
-                    .setTreasuryAccountId(AccountId.fromString(firstSellerAccountId))
-                    .setSupplyType(TokenSupplyType.FINITE)
-                    .setMaxSupply(10000)
-                    .setCustomFees(nftCustomFee(royaltyAccountID))
-                    .setAdminKey(adminKey)
-                    .setSupplyKey(supplyKey)
-                    // .setPauseKey(pauseKey)
-                    .setFreezeKey(freezeKey)
-                    .setWipeKey(wipeKey)
-                    .freezeWith(client)
-                    .sign(PrivateKey.fromString(firstSellerPrivateKey));
-
-
-            TokenCreateTransaction nftCreateTxSign = nftCreate.sign(adminKey);
-            TransactionResponse nftCreateSubmit = nftCreateTxSign.execute(client);
-            TransactionReceipt receipt = nftCreateSubmit.getReceipt(client);
-            TokenId tokenId = receipt.tokenId;
-            log.info("Created NFT with Token ID: " + tokenId);
-
-            return tokenId;
-        }
-        return null;
+        return await(asyncTokenService.createToken(tokenDto));
     }
 
     public TokenInfo getTokenInfo(String tokenId) throws PrecheckStatusException, TimeoutException {
-        return new TokenInfoQuery().setTokenId(TokenId.fromString(tokenId)).execute(client);
+        return awaitQuery(asyncTokenService.getTokenInfo(tokenId));
     }
 
     public TransactionReceipt tokenMint(String tokenId, String contentId) throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
-
-        TokenMintTransaction tokenMintTransaction = new TokenMintTransaction()
-                .setTokenId(TokenId.fromString(tokenId))
-                .addMetadata(contentId.getBytes())
-                .freezeWith(client);
-
-        TokenMintTransaction mintTxSign = tokenMintTransaction.sign(supplyKey);
-        TransactionResponse mintTxSubmit = mintTxSign.execute(client);
-        TransactionReceipt mintRx = mintTxSubmit.getReceipt(client);
-
-        log.info("Created NFT " + tokenId + " with serial: " + mintRx.serials.get(0));
-
-        return mintRx;
-    }
-
-    private List<CustomFee> nftCustomFee(AccountId treasureId) {
-        List<CustomFee> list = new ArrayList<>();
-
-        CustomFee customRoyaltyFee = new CustomRoyaltyFee()
-                .setNumerator(1)
-                .setDenominator(10)
-                .setFeeCollectorAccountId(treasureId)
-                .setFallbackFee(new CustomFixedFee().setHbarAmount(new Hbar(30)));
-
-        list.add(customRoyaltyFee);
-
-        return list;
+        return await(asyncTokenService.tokenMint(tokenId, contentId));
     }
 
     public Hbar getBalance(String accountId) throws PrecheckStatusException, TimeoutException {
-        AccountBalance execute = new AccountBalanceQuery().setAccountId(AccountId.fromString(accountId))
-                .execute(client);
-        return execute.hbars;
+        return awaitQuery(asyncTokenService.getBalance(accountId));
     }
 
     public String generatePrivateKey() {
-        return PrivateKey.generateED25519().toString();
+        return keyPool.take().toString();
     }
 
-
     public Status burnToken(TokenDto tokenDto)
             throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-
-        if (tokenDto != null) {
-            String tokenId = tokenDto.getTokenId();
-            Long serial = tokenDto.getSerial();
-            String supplyKeyBurn = tokenDto.getSupplyKey();
-
-            TokenBurnTransaction burnTransaction = new TokenBurnTransaction().setTokenId(TokenId.fromString(tokenId))
-                    .setSerials(List.of(serial))
-                    .freezeWith(client)
-                    .sign(PrivateKey.fromString(supplyKeyBurn));
-
-            TransactionResponse execute = burnTransaction.execute(client);
-            TransactionReceipt receipt = execute.getReceipt(client);
-            log.info("Burn NFT with serial " + serial + " : " + receipt.status);
-
-            return receipt.status;
-        }
-        return null;
+        return await(asyncTokenService.burnToken(tokenDto));
     }
 
     public String associate(TokenDto tokenDto)
             throws ReceiptStatusException, PrecheckStatusException, TimeoutException {
-        if (tokenDto != null) {
-            String buyerId = tokenDto.getBuyerId();
-            String tokenId = tokenDto.getTokenId();
-            String buyerPrivateKey = tokenDto.getBuyerPrivateKey();
-
-            TokenAssociateTransaction associateBuyer = new TokenAssociateTransaction()
-                    .setAccountId(AccountId.fromString(buyerId))
-                    .setTokenIds(List.of(TokenId.fromString(tokenId)))
-                    .freezeWith(client)
-                    .sign(PrivateKey.fromString(buyerPrivateKey));
-
-            TransactionResponse associateSubmit = associateBuyer.execute(client);
-            TransactionReceipt receipt = associateSubmit.getReceipt(client);
-            log.info(buyerId + "NFT Manual Association:" + receipt.status);
-
-            return receipt.status.toString();
-        }
-        return null;
+        return await(asyncTokenService.associate(tokenDto));
     }
 
     @Override
     public String splitRoyality() throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
-        AccountId treasureId = AccountId.fromString(Objects.requireNonNull(Dotenv.load().get("COMMON_TREASURE_ID")));
-        PrivateKey treasureKey = PrivateKey.fromString(Objects.requireNonNull(Dotenv.load().get("COMMON_TREASURE_KEY")));
-
-        AccountId firstFeeId = AccountId.fromString(Objects.requireNonNull(Dotenv.load().get("FIRST_FEE_ID1")));
-        PrivateKey firstFeeKey = PrivateKey.fromString(Objects.requireNonNull(Dotenv.load().get("FIRST_FEE_KEY1")));
-
-        AccountId secondId = AccountId.fromString(Objects.requireNonNull(Dotenv.load().get("SECOND_FEE_ID2")));
-        PrivateKey secondFeeKey = PrivateKey.fromString(Objects.requireNonNull(Dotenv.load().get("SECOND_FEE_KEY2")));
-
-        Hbar balance = getBalance(treasureId.toString());
-
-        if (balance.getValue().longValue() > 10) {
-
-            // minus 10 for gas fee etc
-
-            long splitHbar = balance.getValue().longValue() - 10L;
-            double percent75 = splitHbar * 0.75;
-            double percent25 = splitHbar * 0.25;
-
-            // First fee get 75 person
-            TransferTransaction transferFirstTransaction = new TransferTransaction()
-                    .addHbarTransfer(treasureId, Hbar.from((long) -percent75)) //Sending account
-                    .addHbarTransfer(firstFeeId, Hbar.from((long) percent75)) //Receiving account
-                    .freezeWith(client)
-                    .sign(treasureKey);
-            TransferTransaction firstSign = transferFirstTransaction.sign(firstFeeKey);
-            TransactionResponse executeFirst = firstSign.execute(client);
-            log.info("The transfer firstFee transaction was: " + executeFirst.getReceipt(client).status);
-
-            // Second fee get 25 percent
-            TransferTransaction transferSecondTransaction = new TransferTransaction()
-                    .addHbarTransfer(treasureId, Hbar.from((long) -percent25)) //Sending account
-                    .addHbarTransfer(secondId, Hbar.from((long) percent25)) //Receiving account
-                    .freezeWith(client)
-                    .sign(treasureKey);
-            TransferTransaction secondSign = transferSecondTransaction.sign(secondFeeKey);
-            TransactionResponse executeSecond = secondSign.execute(client);
-
-            log.info("The transfer secondFee transaction was: " + executeSecond.getReceipt(client).status);
-        }
-        return "Not enough Hbar for split";
+        return await(asyncTokenService.splitRoyality());
     }
 
     public Status firstSellerNftTransfer(TokenDto tokenDto)
             throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
-        if (tokenDto != null) {
-            String sellerId = tokenDto.getFirstSellerAccountId();
-            String buyerId = tokenDto.getBuyerId();
-            String buyerPrivateKey = tokenDto.getBuyerPrivateKey();
-            String tokenId = tokenDto.getTokenId();
-            Long serial = tokenDto.getSerial();
-            Long price = tokenDto.getPrice();
-
-            AccountId sellerAccount = AccountId.fromString(sellerId);
-            PrivateKey sellerKey = PrivateKey.fromString(Objects.requireNonNull(Dotenv.load().get("FIRST_SELLER_KEY")));
-            AccountId buyerAccount = AccountId.fromString(buyerId);
-
-            TransferTransaction tokenTransferTx = new TransferTransaction()
-                    .addNftTransfer(new NftId(TokenId.fromString(tokenId), serial),
-                            sellerAccount,
-                            buyerAccount)
-                    .addHbarTransfer(sellerAccount, Hbar.from(price))
-                    .addHbarTransfer(buyerAccount, Hbar.from(-price))
-                    .freezeWith(client)
-                    .sign(sellerKey);
-
-            TransferTransaction tokenTransferTx2Sign = tokenTransferTx.sign(PrivateKey.fromString(buyerPrivateKey));
-            TransactionResponse tokenTransferSubmit = tokenTransferTx2Sign.execute(client);
-            TransactionReceipt tokenTransferRx = tokenTransferSubmit.getReceipt(client);
-
-            log.info("NFT transfer " + sellerId + " to " + buyerId + " STATUS :" + tokenTransferRx.status);
-
-            return tokenTransferRx.status;
-        }
-        return null;
+        return await(asyncTokenService.firstSellerNftTransfer(tokenDto));
     }
 
     @Override
     public Status buyWithAllowance(TokenDto tokenDto) throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
-        if (tokenDto != null) {
-            String sellerId = tokenDto.getFirstSellerAccountId();
-            String buyerId = tokenDto.getBuyerId();
-            String buyerPrivateKey = tokenDto.getBuyerPrivateKey();
-            String tokenId = tokenDto.getTokenId();
-            Long serial = tokenDto.getSerial();
-            Long price = tokenDto.getPrice();
-
-            AccountId sellerAccount = AccountId.fromString(sellerId);
-            AccountId buyerAccount = AccountId.fromString(buyerId);
-
-            AccountAllowanceApproveTransaction transaction =
-                    new AccountAllowanceApproveTransaction()
-                            .approveHbarAllowance(buyerAccount, sellerAccount, Hbar.from(price));
-
-            TransactionResponse execute = transaction.freezeWith(client)
-                    .sign(PrivateKey.fromString(buyerPrivateKey))
-                    .execute(client);
-
-            TransactionReceipt receipt = execute.getReceipt(client);
-
-            Status transactionStatus = receipt.status;
-            log.info("Allowance from buyer : " + transactionStatus);
-
-            TransactionResponse tokenTransferRs = new TransferTransaction()
-                    .addNftTransfer(new NftId(TokenId.fromString(tokenId), serial),
-                            sellerAccount,
-                            buyerAccount)
-                    .addHbarTransfer(sellerAccount, Hbar.from(price))
-                    .addHbarTransfer(buyerAccount, Hbar.from(price).negated())
-                    .freezeWith(client)
-                    .sign(PrivateKey.fromString(buyerPrivateKey))
-                    .execute(client);
-
-            TransactionReceipt receiptTransfer = tokenTransferRs.getReceipt(client);
-            Status transactionStatusTransfer = receiptTransfer.status;
-
-            log.info("The transaction consensus status is " +transactionStatusTransfer);
-
-            return transactionStatus;
-
-        }
-        return null;
+        return await(asyncTokenService.buyWithAllowance(tokenDto));
     }
 }
@@ -0,0 +1,148 @@
+package hedera.starter.hederatoken.service.impl;
+
+import hedera.starter.hederatoken.dto.TransactionEventDto;
+import hedera.starter.hederatoken.service.TransactionEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues events per subscriber and delivers them from a small shared pool, so a slow client never holds
+ * up the receipt threads that publish
+ */
+@Service
+@Slf4j
+public class TransactionEventServiceImpl implements TransactionEventService {
+
+    private static final TransactionEventDto HEARTBEAT = new TransactionEventDto();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final ExecutorService delivery;
+
+    public TransactionEventServiceImpl(@Value("${hedera.events.buffer:256}") int bufferSize,
+                                       @Value("${hedera.events.delivery-threads:2}") int deliveryThreads) {
+        this.bufferSize = bufferSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "transaction-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        delivery.shutdownNow();
+    }
+
+    @Override
+    public void publish(TransactionEventDto event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @Override
+    public Runnable subscribe(String accountId, String tokenId, Listener listener) {
+        Subscriber subscriber = new Subscriber(accountId, tokenId, listener);
+        subscribers.add(subscriber);
+        log.debug("Transaction event subscriber added for account " + accountId + " and token " + tokenId);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    @Scheduled(fixedDelayString = "${hedera.events.heartbeat:15s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    private class Subscriber {
+        private final String accountId;
+        private final String tokenId;
+        private final Listener listener;
+        private final BlockingQueue<TransactionEventDto> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(String accountId, String tokenId, Listener listener) {
+            this.accountId = accountId;
+            this.tokenId = tokenId;
+            this.listener = listener;
+        }
+
+        private boolean matches(TransactionEventDto event) {
+            return (accountId == null || event.getAccounts().contains(accountId))
+                    && (tokenId == null || event.getTokens().contains(tokenId));
+        }
+
+        private void offer(TransactionEventDto event) {
+            if (!queue.offer(event)) {
+                drop(new IllegalStateException("Subscriber fell behind by " + bufferSize + " events"));
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                delivery.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // shut down
+                draining.set(false);
+            }
+        }
+
+        /**
+         * Runs on one delivery thread at a time per subscriber, which keeps its events in order
+         */
+        private void drain() {
+            try {
+                TransactionEventDto event;
+                while ((event = queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        listener.onHeartbeat();
+                    } else {
+                        listener.onEvent(event);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                drop(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void drop(Throwable cause) {
+            if (subscribers.remove(this)) {
+                queue.clear();
+                log.debug("Dropped transaction event subscriber: " + cause);
+                listener.onDropped(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.*;
+import hedera.starter.hederatoken.dto.TransactionEventDto;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.TransactionKind;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link TransactionEventDto}s, naming the accounts and tokens a transaction touches so subscribers
+ * can filter on them. The payer is left out, being the service's own operator account.
+ */
+final class TransactionEvents {
+
+    private TransactionEvents() {
+    }
+
+    /**
+     * For a transaction recovered after a restart, whose subjects are only known from its receipt
+     */
+    static TransactionEventDto submitted(TransactionId transactionId, TransactionKind kind) {
+        return submitted(transactionId, kind, null);
+    }
+
+    static TransactionEventDto submitted(TransactionId transactionId, TransactionKind kind, Transaction<?> transaction) {
+        TransactionEventDto event = new TransactionEventDto();
+        event.setTransactionId(transactionId.toString());
+        event.setKind(kind.name());
+        event.setState("PENDING");
+        if (transaction instanceof TransferTransaction) {
+            TransferTransaction transfer = (TransferTransaction) transaction;
+            transfer.getHbarTransfers().keySet().forEach(account -> addAccount(event, account));
+            for (Map.Entry<TokenId, List<TokenNftTransfer>> nfts : transfer.getTokenNftTransfers().entrySet()) {
+                addToken(event, nfts.getKey());
+                for (TokenNftTransfer nft : nfts.getValue()) {
+                    addAccount(event, nft.sender);
+                    addAccount(event, nft.receiver);
+                    event.getSerials().add(nft.serial);
+                }
+            }
+        } else if (transaction instanceof TokenMintTransaction) {
+            addToken(event, ((TokenMintTransaction) transaction).getTokenId());
+        } else if (transaction instanceof TokenBurnTransaction) {
+            addToken(event, ((TokenBurnTransaction) transaction).getTokenId());
+            event.getSerials().addAll(((TokenBurnTransaction) transaction).getSerials());
+        } else if (transaction instanceof TokenAssociateTransaction) {
+            addAccount(event, ((TokenAssociateTransaction) transaction).getAccountId());
+            ((TokenAssociateTransaction) transaction).getTokenIds().forEach(token -> addToken(event, token));
+        } else if (transaction instanceof TokenCreateTransaction) {
+            addAccount(event, ((TokenCreateTransaction) transaction).getTreasuryAccountId());
+        } else if (transaction instanceof AccountAllowanceApproveTransaction) {
+            for (HbarAllowance allowance : ((AccountAllowanceApproveTransaction) transaction).getHbarApprovals()) {
+                addAccount(event, allowance.ownerAccountId);
+                addAccount(event, allowance.spenderAccountId);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Fills in the outcome, and the entities the receipt names such as a new account or token or minted serials
+     */
+    static TransactionEventDto resolved(TransactionEventDto event, TransactionReceipt receipt, Throwable error) {
+        if (error == null) {
+            event.setState(receipt.status == Status.SUCCESS ? "SUCCESS" : "FAILED");
+            event.setStatus(receipt.status.toString());
+            addAccount(event, receipt.accountId);
+            addToken(event, receipt.tokenId);
+            if (receipt.serials != null) {
+                event.getSerials().addAll(receipt.serials);
+            }
+            return event;
+        }
+        Throwable cause = Futures.unwrap(error);
+        if (cause instanceof ReceiptStatusException) {
+            event.setState("FAILED");
+            event.setStatus(((ReceiptStatusException) cause).receipt.status.toString());
+        } else if (cause instanceof PrecheckStatusException) {
+            event.setState("FAILED");
+            event.setStatus(((PrecheckStatusException) cause).status.toString());
+        } else {
+            // submitted, but whether it reached consensus is not known
+            event.setState("UNKNOWN");
+            event.setStatus(cause.toString());
+        }
+        return event;
+    }
+
+    private static void addAccount(TransactionEventDto event, AccountId account) {
+        if (account != null && !event.getAccounts().contains(account.toString())) {
+            event.getAccounts().add(account.toString());
+        }
+    }
+
+    private static void addToken(TransactionEventDto event, TokenId token) {
+        if (token != null && !event.getTokens().contains(token.toString())) {
+            event.getTokens().add(token.toString());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.TransactionId;
+import hedera.starter.hederatoken.dto.TransactionStatusDto;
+import hedera.starter.hederatoken.service.ReceiptTracker;
+import hedera.starter.hederatoken.service.TransactionEventService;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.IdempotencyJournal;
+import hedera.starter.utilities.TransactionLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Picks up transactions a previous run submitted but never saw a receipt for. All of them are handed to
+ * the receipt tracker at once, which polls them side by side within its concurrent query budget.
+ * <p>
+ * Outcomes are published like those of any other transaction. The idempotency keys that submitted them are
+ * settled once all their recovered transactions are, as {@link IdempotencySettlement} describes; a transaction
+ * whose receipt has expired is replayed as UNKNOWN, for the client to look up on a mirror node.
+ */
+@Component
+@Slf4j
+public class TransactionRecovery {
+
+    private final TransactionLog transactionLog;
+    private final ReceiptTracker receiptTracker;
+    private final TransactionEventService events;
+    private final IdempotencyJournal journal;
+    private final IdempotencySettlement settlement;
+    private final Duration receiptWindow;
+
+    public TransactionRecovery(TransactionLog transactionLog,
+                               ReceiptTracker receiptTracker,
+                               TransactionEventService events,
+                               IdempotencyJournal journal,
+                               IdempotencySettlement settlement,
+                               @Value("${hedera.wal.receipt-window:3m}") Duration receiptWindow) {
+        this.transactionLog = transactionLog;
+        this.receiptTracker = receiptTracker;
+        this.events = events;
+        this.journal = journal;
+        this.settlement = settlement;
+        this.receiptWindow = receiptWindow;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (transactionLog.recovered().isEmpty()) {
+            return;
+        }
+        log.info("Resuming receipt tracking for " + transactionLog.recovered().size() + " transactions");
+        long now = System.currentTimeMillis();
+        Map<String, List<CompletableFuture<TransactionStatusDto>>> byKey = new LinkedHashMap<>();
+        for (TransactionLog.InFlight transaction : transactionLog.recovered()) {
+            CompletableFuture<TransactionStatusDto> outcome = now - transaction.getSubmittedAt() > receiptWindow.toMillis()
+                    ? expired(transaction)
+                    : track(transaction);
+            for (String key : journal.keysOf(transaction.getTransactionId().toString())) {
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(outcome);
+            }
+        }
+        byKey.forEach((key, outcomes) -> CompletableFuture.allOf(outcomes.toArray(new CompletableFuture[0]))
+                .thenRun(() -> settlement.settle(key, outcomes.stream().map(CompletableFuture::join).collect(Collectors.toList()))));
+    }
+
+    private CompletableFuture<TransactionStatusDto> expired(TransactionLog.InFlight transaction) {
+        TransactionId transactionId = transaction.getTransactionId();
+        // nodes only keep receipts for a few minutes, so only the mirror node can tell what happened
+        log.warn("Outcome of " + transaction.getKind() + " " + transactionId
+                + " is unknown, its receipt has expired; look it up on a mirror node");
+        transactionLog.resolved(transactionId);
+        TimeoutException cause = new TimeoutException("Receipt for " + transactionId + " has expired");
+        events.publish(TransactionEvents.resolved(TransactionEvents.submitted(transactionId, transaction.getKind()), null, cause));
+        return CompletableFuture.completedFuture(new TransactionStatusDto(transactionId.toString(), "UNKNOWN", cause.toString(), null));
+    }
+
+    private CompletableFuture<TransactionStatusDto> track(TransactionLog.InFlight transaction) {
+        TransactionId transactionId = transaction.getTransactionId();
+        return receiptTracker.track(transactionId).handle((receipt, error) -> {
+            transactionLog.resolved(transactionId);
+            events.publish(TransactionEvents.resolved(TransactionEvents.submitted(transactionId, transaction.getKind()), receipt, error));
+            if (error == null) {
+                log.info("Recovered " + transaction.getKind() + " " + transactionId + ": " + receipt.status);
+            } else {
+                Throwable cause = Futures.unwrap(error);
+                log.warn("Recovered " + transaction.getKind() + " " + transactionId + " failed: "
+                        + (cause instanceof ReceiptStatusException ? ((ReceiptStatusException) cause).receipt.status : cause));
+            }
+            TransactionStatusDto status = receiptTracker.getStatus(transactionId);
+            return status != null ? status : new TransactionStatusDto(transactionId.toString(), "UNKNOWN", String.valueOf(error), null);
+        });
+    }
+}
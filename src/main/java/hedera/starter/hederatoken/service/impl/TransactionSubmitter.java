@@ -0,0 +1,115 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.PrivateKey;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import hedera.starter.hederatoken.dto.TransactionEventDto;
+import hedera.starter.hederatoken.service.ReceiptTracker;
+import hedera.starter.hederatoken.service.TransactionEventService;
+import hedera.starter.utilities.HederaClientPool;
+import hedera.starter.utilities.HederaMetrics;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.Priority;
+import hedera.starter.utilities.SubmissionScheduler;
+import hedera.starter.utilities.TransactionLog;
+import hedera.starter.utilities.TransactionKind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Single path every transaction takes to the network: wait for the scheduler to admit it, lease a pooled
+ * client, freeze the transaction with it, sign, write it to the transaction log, submit and hand the
+ * transaction ID to the receipt tracker. The final outcome is published to the {@link TransactionEventService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionSubmitter {
+
+    private final HederaClientPool clientPool;
+    private final ReceiptTracker receiptTracker;
+    private final SubmissionScheduler scheduler;
+    private final TransactionLog transactionLog;
+    private final HederaMetrics metrics;
+    private final TransactionEventService events;
+
+    public <T extends Transaction<T>> CompletableFuture<TransactionReceipt> submit(TransactionKind kind,
+                                                                                   Function<Client, T> frozen,
+                                                                                   PrivateKey... signers) {
+        return submit(kind, Priority.NORMAL, frozen, signers);
+    }
+
+    /**
+     * Transaction IDs are reported to the {@link IdempotencyContext} bound on the calling thread before sending,
+     * once the network accepts the attempt at precheck and once its outcome is final.
+     *
+     * @param kind     throttle class the transaction is paced under
+     * @param priority dispatch order among queued transactions of the same kind
+     * @param frozen   builds the transaction and freezes it with the leased client, which becomes its payer;
+     *                 called again if the network turns the transaction away as busy
+     * @param signers  keys whose signatures the transaction needs besides the payer's
+     */
+    public <T extends Transaction<T>> CompletableFuture<TransactionReceipt> submit(TransactionKind kind,
+                                                                                   Priority priority,
+                                                                                   Function<Client, T> frozen,
+                                                                                   PrivateKey... signers) {
+        IdempotencyContext.Listener submitted = IdempotencyContext.current();
+        HederaMetrics.TransactionTimer timer = metrics.transaction(kind);
+        // the last attempt's transaction, once one was sent; earlier attempts were turned away and requeued
+        AtomicReference<TransactionEventDto> event = new AtomicReference<>();
+        return scheduler.schedule(kind, priority, () -> execute(kind, frozen, submitted, timer, event, signers))
+                .whenComplete(timer::finish)
+                .whenComplete((receipt, error) -> {
+                    if (event.get() != null) {
+                        events.publish(TransactionEvents.resolved(event.get(), receipt, error));
+                    }
+                });
+    }
+
+    private <T extends Transaction<T>> CompletableFuture<TransactionReceipt> execute(TransactionKind kind,
+                                                                                     Function<Client, T> frozen,
+                                                                                     IdempotencyContext.Listener submitted,
+                                                                                     HederaMetrics.TransactionTimer timer,
+                                                                                     AtomicReference<TransactionEventDto> event,
+                                                                                     PrivateKey... signers) {
+        timer.phase("lease");
+        return clientPool.acquire().thenCompose(lease -> {
+            CompletableFuture<TransactionReceipt> receipt;
+            try {
+                timer.phase("freeze");
+                T transaction = frozen.apply(lease.client());
+                timer.transaction(transaction);
+                timer.phase("sign");
+                for (PrivateKey signer : signers) {
+                    transaction.sign(signer);
+                }
+                timer.phase("submit");
+                // recorded before it is sent, so a crash cannot leave a submitted transaction untracked
+                TransactionId transactionId = transaction.getTransactionId();
+                submitted.submitted(transactionId);
+                event.set(TransactionEvents.submitted(transactionId, kind, transaction));
+                transactionLog.submitted(transactionId, kind);
+                receipt = transaction.executeAsync(lease.client())
+                        .thenCompose(response -> {
+                            submitted.accepted(transactionId);
+                            timer.node(response.nodeId);
+                            timer.phase("receipt");
+                            return receiptTracker.track(response.transactionId);
+                        })
+                        .whenComplete((result, error) -> {
+                            // settled before the log forgets the transaction, so a crash in between leaves it to recovery
+                            submitted.resolved(transactionId, error);
+                            transactionLog.resolved(transactionId);
+                        });
+            } catch (RuntimeException e) {
+                receipt = CompletableFuture.failedFuture(e);
+            }
+            return receipt.whenComplete((result, error) -> lease.close());
+        });
+    }
+}
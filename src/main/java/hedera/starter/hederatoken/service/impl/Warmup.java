@@ -0,0 +1,190 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hedera.hashgraph.sdk.AccountBalanceQuery;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import hedera.starter.hederatoken.dto.BalanceDto;
+import hedera.starter.hederatoken.dto.NftOwnerDto;
+import hedera.starter.hederatoken.dto.ReceiptDto;
+import hedera.starter.hederatoken.dto.TokenDto;
+import hedera.starter.hederatoken.dto.TokenInfoDto;
+import hedera.starter.hederatoken.dto.TransactionEventDto;
+import hedera.starter.utilities.Futures;
+import hedera.starter.utilities.HederaClientPool;
+import hedera.starter.utilities.KeyRegistry;
+import hedera.starter.utilities.NodeHealth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pays the first-request costs before traffic arrives: opens each pooled client's channels with a free
+ * balance query per node, parses and exercises the configured keys and primes Jackson for the request and
+ * response DTOs. Reported as the {@code warmup} health indicator, which is part of the readiness group and
+ * down until warm-up finishes. Warm-up that outlasts its budget is cut short and reported up regardless,
+ * so one unreachable node cannot hold back a deploy.
+ */
+@Component("warmup")
+@Slf4j
+public class Warmup implements HealthIndicator {
+
+    private final HederaClientPool clientPool;
+    private final KeyRegistry keyRegistry;
+    private final NodeHealth nodeHealth;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration budget;
+    private final List<String> keys;
+    private final List<String> accounts;
+    private final Set<String> unreachable = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean done;
+    private volatile boolean cutShort;
+    private volatile long tookMillis;
+
+    public Warmup(HederaClientPool clientPool,
+                  KeyRegistry keyRegistry,
+                  NodeHealth nodeHealth,
+                  ObjectMapper objectMapper,
+                  @Value("${hedera.warmup.enabled:true}") boolean enabled,
+                  @Value("${hedera.warmup.budget:30s}") Duration budget,
+                  @Value("${hedera.warmup.keys:adminKey,supplyKey,freezeKey,wipeKey,FIRST_SELLER_KEY}") List<String> keys,
+                  @Value("${hedera.warmup.accounts:COMMON_TREASURE_ID}") List<String> accounts) {
+        this.clientPool = clientPool;
+        this.keyRegistry = keyRegistry;
+        this.nodeHealth = nodeHealth;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.keys = keys;
+        this.accounts = accounts;
+        this.done = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        if (!done) {
+            return Health.outOfService().withDetail("warmup", "in progress").build();
+        }
+        return Health.up()
+                .withDetail("tookMillis", tookMillis)
+                .withDetail("cutShort", cutShort)
+                .withDetail("unreachableNodes", unreachable)
+                .build();
+    }
+
+    private void run() {
+        long startedAt = System.nanoTime();
+        try {
+            CompletableFuture<Void> nodes = probeNodes();
+            parseKeys();
+            primeJackson();
+            nodes.get(Math.max(0, budget.toNanos() - (System.nanoTime() - startedAt)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cutShort = true;
+            log.warn("Warm-up exceeded its budget of " + budget + ", reporting ready anyway");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warm-up failed, reporting ready anyway: " + Futures.unwrap(e));
+        } finally {
+            tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            done = true;
+        }
+        log.info("Warm-up done in " + tookMillis + "ms" + (unreachable.isEmpty() ? "" : ", unreachable nodes " + unreachable));
+    }
+
+    /**
+     * One free query per node and client, which opens the client's channel to the node and seeds its health score
+     */
+    private CompletableFuture<Void> probeNodes() {
+        List<CompletableFuture<Void>> probes = new ArrayList<>();
+        for (Client client : clientPool.allClients()) {
+            for (AccountId node : new HashSet<>(client.getNetwork().values())) {
+                long startedAt = System.nanoTime();
+                CompletableFuture<Void> probe;
+                try {
+                    probe = new AccountBalanceQuery().setAccountId(node)
+                            .setNodeAccountIds(List.of(node))
+                            .executeAsync(client)
+                            .handle((balance, error) -> {
+                                // a precheck answer still means the node is up and talking
+                                boolean failed = error != null && !(Futures.unwrap(error) instanceof PrecheckStatusException);
+                                nodeHealth.record(node, System.nanoTime() - startedAt, failed);
+                                if (failed) {
+                                    unreachable.add(node.toString());
+                                }
+                                return null;
+                            });
+                } catch (RuntimeException e) {
+                    unreachable.add(node.toString());
+                    probe = CompletableFuture.completedFuture(null);
+                }
+                probes.add(probe);
+            }
+        }
+        return CompletableFuture.allOf(probes.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Parses each key and signs with it once, loading the key and signature classes
+     */
+    private void parseKeys() {
+        byte[] message = new byte[32];
+        for (String name : keys) {
+            try {
+                keyRegistry.privateKey(name).sign(message);
+            } catch (RuntimeException e) {
+                log.debug("Warm-up skipped key " + name + ": " + e.getMessage());
+            }
+        }
+        for (String name : accounts) {
+            try {
+                keyRegistry.accountId(name);
+            } catch (RuntimeException e) {
+                log.debug("Warm-up skipped account " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Builds and caches the serializers and deserializers the controllers use
+     */
+    private void primeJackson() throws IOException {
+        byte[] tokenDto = objectMapper.writeValueAsBytes(new TokenDto("warmup", "WARM", "0.0.1", null, "0.0.2", 1L,
+                null, "0.0.3", null, 1L));
+        objectMapper.readerFor(TokenDto.class).readValue(tokenDto);
+        objectMapper.writeValueAsBytes(new TokenInfoDto());
+        objectMapper.writeValueAsBytes(new ReceiptDto("SUCCESS", null, null, null, List.of(1L)));
+        objectMapper.writeValueAsBytes(new BalanceDto("0.0.1", 0));
+        objectMapper.writeValueAsBytes(new NftOwnerDto("0.0.1", 1, "0.0.1"));
+        objectMapper.writeValueAsBytes(new TransactionEventDto());
+    }
+}
@@ -0,0 +1,76 @@
+package hedera.starter.simulator;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random delay described by a string: {@code fixed:<d>}, {@code uniform:<min>..<max>} or
+ * {@code lognormal:<median>..<p99>}, with durations written as in the properties, e.g. {@code lognormal:2s..5s}
+ */
+public final class LatencyDistribution {
+
+    // standard normal quantile of the 99th percentile
+    private static final double Z_99 = 2.3263;
+
+    private final String spec;
+    private final String type;
+    private final long lowNanos;
+    private final long highNanos;
+
+    private LatencyDistribution(String spec, String type, long lowNanos, long highNanos) {
+        this.spec = spec;
+        this.type = type;
+        this.lowNanos = lowNanos;
+        this.highNanos = highNanos;
+    }
+
+    public static LatencyDistribution parse(String spec) {
+        String[] typeAndArguments = spec.trim().split(":", 2);
+        if (typeAndArguments.length != 2) {
+            throw new IllegalArgumentException("Latency distribution " + spec + " is not <type>:<arguments>");
+        }
+        String type = typeAndArguments[0];
+        String[] bounds = typeAndArguments[1].split("\\.\\.");
+        long low = nanos(bounds[0]);
+        switch (type) {
+            case "fixed":
+                return new LatencyDistribution(spec, type, low, low);
+            case "uniform":
+            case "lognormal":
+                if (bounds.length != 2) {
+                    throw new IllegalArgumentException("Latency distribution " + spec + " needs two durations");
+                }
+                long high = nanos(bounds[1]);
+                if (high < low || low <= 0 && "lognormal".equals(type)) {
+                    throw new IllegalArgumentException("Latency distribution " + spec + " has invalid bounds");
+                }
+                return new LatencyDistribution(spec, type, low, high);
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution " + type);
+        }
+    }
+
+    public long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (type) {
+            case "uniform":
+                return lowNanos == highNanos ? lowNanos : random.nextLong(lowNanos, highNanos + 1);
+            case "lognormal":
+                double mu = Math.log(lowNanos);
+                double sigma = (Math.log(highNanos) - mu) / Z_99;
+                return (long) Math.exp(mu + sigma * random.nextGaussian());
+            default:
+                return lowNanos;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static long nanos(String duration) {
+        return DurationStyle.detectAndParse(duration.trim()).toNanos();
+    }
+}
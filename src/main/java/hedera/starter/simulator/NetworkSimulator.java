@@ -0,0 +1,373 @@
+package hedera.starter.simulator;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceQuery;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.QueryHeader;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TokenGetInfoQuery;
+import com.hedera.hashgraph.sdk.proto.TokenGetInfoResponse;
+import com.hedera.hashgraph.sdk.proto.TokenGetNftInfoQuery;
+import com.hedera.hashgraph.sdk.proto.TokenGetNftInfoResponse;
+import com.hedera.hashgraph.sdk.proto.TokenInfo;
+import com.hedera.hashgraph.sdk.proto.TokenNftInfo;
+import com.hedera.hashgraph.sdk.proto.TokenServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptQuery;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hedera network simulator for offline load testing, active under the {@code simulator} profile. Serves the
+ * crypto, token and receipt gRPC calls the token service makes from plaintext ports on this host, one per
+ * simulated node, over a shared {@link SimulatedLedger}. Prechecks, consensus and queries each take a delay
+ * drawn from a configurable distribution; throttles answer BUSY past their rate, and failures can be
+ * injected at precheck, at consensus and as unavailable nodes.
+ */
+@Component
+@Profile("simulator")
+@Slf4j
+public class NetworkSimulator {
+
+    private static final long FIRST_NODE_NUM = 3;
+    private static final long QUERY_COST_TINYBARS = 1000;
+
+    private final SimulatedLedger ledger;
+    private final int port;
+    private final int nodes;
+    private final LatencyDistribution precheckLatency;
+    private final LatencyDistribution consensusLatency;
+    private final LatencyDistribution queryLatency;
+    private final Map<TransactionBody.DataCase, Throttle> throttles = new HashMap<>();
+    private final Map<ResponseCodeEnum, Double> precheckFailures;
+    private final Map<ResponseCodeEnum, Double> consensusFailures;
+    private final double unavailableRate;
+    private final Duration receiptRetention;
+    private final Map<TransactionID, Submitted> submitted = new ConcurrentHashMap<>();
+    private final List<Server> servers = new ArrayList<>();
+    private final ScheduledExecutorService clock = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "network-simulator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NetworkSimulator(@Value("${hedera.simulator.port:50211}") int port,
+                            @Value("${hedera.simulator.nodes:1}") int nodes,
+                            @Value("${hedera.simulator.initial-balance-hbar:10000}") long initialBalanceHbar,
+                            @Value("${hedera.simulator.precheck-latency:fixed:1ms}") String precheckLatency,
+                            @Value("${hedera.simulator.consensus-latency:lognormal:2s..5s}") String consensusLatency,
+                            @Value("${hedera.simulator.query-latency:fixed:1ms}") String queryLatency,
+                            @Value("${hedera.simulator.throttles:}") List<String> throttles,
+                            @Value("${hedera.simulator.precheck-failures:}") List<String> precheckFailures,
+                            @Value("${hedera.simulator.consensus-failures:}") List<String> consensusFailures,
+                            @Value("${hedera.simulator.unavailable-rate:0}") double unavailableRate,
+                            @Value("${hedera.simulator.receipt-retention:3m}") Duration receiptRetention) {
+        this.ledger = new SimulatedLedger(initialBalanceHbar * 100_000_000L);
+        this.port = port;
+        this.nodes = nodes;
+        this.precheckLatency = LatencyDistribution.parse(precheckLatency);
+        this.consensusLatency = LatencyDistribution.parse(consensusLatency);
+        this.queryLatency = LatencyDistribution.parse(queryLatency);
+        for (String throttle : throttles) {
+            String[] typeAndRate = throttle.split(":");
+            this.throttles.put(TransactionBody.DataCase.valueOf(typeAndRate[0].trim()),
+                    new Throttle(Double.parseDouble(typeAndRate[1])));
+        }
+        this.precheckFailures = rates(precheckFailures);
+        this.consensusFailures = rates(consensusFailures);
+        this.unavailableRate = unavailableRate;
+        this.receiptRetention = receiptRetention;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        for (int i = 0; i < nodes; i++) {
+            AccountID node = AccountID.newBuilder().setAccountNum(FIRST_NODE_NUM + i).build();
+            servers.add(ServerBuilder.forPort(port + i)
+                    .addService(cryptoService(node))
+                    .addService(tokenService(node))
+                    .build()
+                    .start());
+        }
+        clock.scheduleWithFixedDelay(this::expireReceipts, 10, 10, TimeUnit.SECONDS);
+        log.info("Network simulator with " + nodes + " nodes from port " + port + ", consensus latency " + consensusLatency
+                + ", throttles " + throttles.keySet() + ", precheck failures " + precheckFailures
+                + ", consensus failures " + consensusFailures + ", unavailable rate " + unavailableRate);
+    }
+
+    @PreDestroy
+    void stop() {
+        servers.forEach(Server::shutdownNow);
+        clock.shutdownNow();
+    }
+
+    private ServerServiceDefinition cryptoService(AccountID node) {
+        return ServerServiceDefinition.builder(CryptoServiceGrpc.SERVICE_NAME)
+                .addMethod(transaction(CryptoServiceGrpc.getCreateAccountMethod(), node))
+                .addMethod(transaction(CryptoServiceGrpc.getCryptoTransferMethod(), node))
+                .addMethod(transaction(CryptoServiceGrpc.getApproveAllowancesMethod(), node))
+                .addMethod(query(CryptoServiceGrpc.getGetTransactionReceiptsMethod()))
+                .addMethod(query(CryptoServiceGrpc.getCryptoGetBalanceMethod()))
+                .build();
+    }
+
+    private ServerServiceDefinition tokenService(AccountID node) {
+        return ServerServiceDefinition.builder(TokenServiceGrpc.SERVICE_NAME)
+                .addMethod(transaction(TokenServiceGrpc.getCreateTokenMethod(), node))
+                .addMethod(transaction(TokenServiceGrpc.getMintTokenMethod(), node))
+                .addMethod(transaction(TokenServiceGrpc.getBurnTokenMethod(), node))
+                .addMethod(transaction(TokenServiceGrpc.getAssociateTokensMethod(), node))
+                .addMethod(query(TokenServiceGrpc.getGetTokenInfoMethod()))
+                .addMethod(query(TokenServiceGrpc.getGetTokenNftInfoMethod()))
+                .build();
+    }
+
+    private ServerMethodDefinition<Transaction, TransactionResponse> transaction(
+            MethodDescriptor<Transaction, TransactionResponse> method, AccountID node) {
+        return ServerMethodDefinition.create(method, ServerCalls.asyncUnaryCall((request, observer) ->
+                after(precheckLatency, observer, () -> precheck(request, node))));
+    }
+
+    private ServerMethodDefinition<Query, Response> query(MethodDescriptor<Query, Response> method) {
+        return ServerMethodDefinition.create(method, ServerCalls.asyncUnaryCall((request, observer) ->
+                after(queryLatency, observer, () -> answer(request))));
+    }
+
+    /**
+     * Replies after a delay from {@code latency}, or fails the call as an unavailable node would
+     */
+    private <T> void after(LatencyDistribution latency, StreamObserver<T> observer, Supplier<T> reply) {
+        clock.schedule(() -> {
+            if (unavailableRate > 0 && ThreadLocalRandom.current().nextDouble() < unavailableRate) {
+                observer.onError(Status.UNAVAILABLE.withDescription("Injected node failure").asRuntimeException());
+                return;
+            }
+            try {
+                observer.onNext(reply.get());
+                observer.onCompleted();
+            } catch (RuntimeException e) {
+                log.error("Simulator failed to answer", e);
+                observer.onError(Status.INTERNAL.withDescription(e.toString()).asRuntimeException());
+            }
+        }, latency.sampleNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private TransactionResponse precheck(Transaction transaction, AccountID node) {
+        TransactionBody body;
+        try {
+            body = TransactionBody.parseFrom(transaction.getSignedTransactionBytes().isEmpty()
+                    ? transaction.getBodyBytes()
+                    : SignedTransaction.parseFrom(transaction.getSignedTransactionBytes()).getBodyBytes());
+        } catch (InvalidProtocolBufferException e) {
+            return response(ResponseCodeEnum.INVALID_TRANSACTION_BODY);
+        }
+        if (!body.getNodeAccountID().equals(node)) {
+            return response(ResponseCodeEnum.INVALID_NODE_ACCOUNT);
+        }
+        Throttle throttle = throttles.get(body.getDataCase());
+        if (throttle != null && !throttle.tryAcquire()) {
+            return response(ResponseCodeEnum.BUSY);
+        }
+        ResponseCodeEnum injected = draw(precheckFailures);
+        if (injected != null) {
+            return response(injected);
+        }
+        Submitted accepted = new Submitted();
+        if (submitted.putIfAbsent(body.getTransactionID(), accepted) != null) {
+            return response(ResponseCodeEnum.DUPLICATE_TRANSACTION);
+        }
+        clock.schedule(() -> reachConsensus(body, accepted), consensusLatency.sampleNanos(), TimeUnit.NANOSECONDS);
+        return response(ResponseCodeEnum.OK);
+    }
+
+    private void reachConsensus(TransactionBody body, Submitted transaction) {
+        ResponseCodeEnum injected = draw(consensusFailures);
+        try {
+            transaction.receipt = injected != null
+                    ? TransactionReceipt.newBuilder().setStatus(injected).build()
+                    : ledger.apply(body);
+        } catch (RuntimeException e) {
+            log.error("Simulator failed to apply " + body.getDataCase(), e);
+            transaction.receipt = TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.FAIL_INVALID).build();
+        }
+        transaction.resolvedAt = System.nanoTime();
+    }
+
+    private Response answer(Query query) {
+        switch (query.getQueryCase()) {
+            case TRANSACTIONGETRECEIPT: {
+                TransactionGetReceiptQuery receiptQuery = query.getTransactionGetReceipt();
+                Submitted transaction = submitted.get(receiptQuery.getTransactionID());
+                TransactionGetReceiptResponse.Builder response = TransactionGetReceiptResponse.newBuilder();
+                if (transaction == null) {
+                    response.setHeader(header(ResponseCodeEnum.RECEIPT_NOT_FOUND));
+                } else {
+                    TransactionReceipt receipt = transaction.receipt;
+                    response.setHeader(header(ResponseCodeEnum.OK)).setReceipt(receipt != null
+                            ? receipt
+                            : TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.UNKNOWN).build());
+                }
+                return Response.newBuilder().setTransactionGetReceipt(response).build();
+            }
+            case CRYPTOGETACCOUNTBALANCE: {
+                CryptoGetAccountBalanceQuery balanceQuery = query.getCryptogetAccountBalance();
+                return Response.newBuilder().setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(header(ResponseCodeEnum.OK))
+                        .setAccountID(balanceQuery.getAccountID())
+                        .setBalance(ledger.balance(balanceQuery.getAccountID()))
+                ).build();
+            }
+            case TOKENGETINFO: {
+                TokenGetInfoQuery infoQuery = query.getTokenGetInfo();
+                TokenGetInfoResponse.Builder response = TokenGetInfoResponse.newBuilder();
+                if (isCostQuery(infoQuery.getHeader())) {
+                    response.setHeader(costHeader());
+                } else {
+                    TokenInfo info = ledger.tokenInfo(infoQuery.getToken());
+                    if (info == null) {
+                        response.setHeader(header(ResponseCodeEnum.INVALID_TOKEN_ID));
+                    } else {
+                        response.setHeader(header(ResponseCodeEnum.OK)).setTokenInfo(info);
+                    }
+                }
+                return Response.newBuilder().setTokenGetInfo(response).build();
+            }
+            case TOKENGETNFTINFO: {
+                TokenGetNftInfoQuery nftQuery = query.getTokenGetNftInfo();
+                TokenGetNftInfoResponse.Builder response = TokenGetNftInfoResponse.newBuilder();
+                if (isCostQuery(nftQuery.getHeader())) {
+                    response.setHeader(costHeader());
+                } else {
+                    TokenNftInfo nft = ledger.nft(nftQuery.getNftID());
+                    if (nft == null) {
+                        response.setHeader(header(ResponseCodeEnum.INVALID_NFT_ID));
+                    } else {
+                        response.setHeader(header(ResponseCodeEnum.OK)).setNft(nft);
+                    }
+                }
+                return Response.newBuilder().setTokenGetNftInfo(response).build();
+            }
+            default:
+                throw Status.UNIMPLEMENTED.withDescription(query.getQueryCase() + " is not simulated").asRuntimeException();
+        }
+    }
+
+    /**
+     * Forgets receipts once their retention has passed, as nodes do
+     */
+    private void expireReceipts() {
+        long expiredBefore = System.nanoTime() - receiptRetention.toNanos();
+        submitted.values().removeIf(transaction -> transaction.receipt != null && transaction.resolvedAt < expiredBefore);
+    }
+
+    private static boolean isCostQuery(QueryHeader header) {
+        return header.getResponseType() == ResponseType.COST_ANSWER;
+    }
+
+    private static ResponseHeader costHeader() {
+        return ResponseHeader.newBuilder()
+                .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                .setResponseType(ResponseType.COST_ANSWER)
+                .setCost(QUERY_COST_TINYBARS)
+                .build();
+    }
+
+    private static ResponseHeader header(ResponseCodeEnum status) {
+        return ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(status).build();
+    }
+
+    private static TransactionResponse response(ResponseCodeEnum status) {
+        return TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(status).build();
+    }
+
+    /**
+     * @return the injected failure, or null to carry on
+     */
+    private static ResponseCodeEnum draw(Map<ResponseCodeEnum, Double> failures) {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        for (Map.Entry<ResponseCodeEnum, Double> failure : failures.entrySet()) {
+            roll -= failure.getValue();
+            if (roll < 0) {
+                return failure.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static Map<ResponseCodeEnum, Double> rates(List<String> statusRates) {
+        Map<ResponseCodeEnum, Double> rates = new LinkedHashMap<>();
+        for (String statusRate : statusRates) {
+            String[] statusAndRate = statusRate.split(":");
+            rates.put(ResponseCodeEnum.valueOf(statusAndRate[0].trim()), Double.parseDouble(statusAndRate[1]));
+        }
+        return rates;
+    }
+
+    private static class Submitted {
+        private volatile TransactionReceipt receipt;
+        private volatile long resolvedAt;
+    }
+
+    /**
+     * Token bucket holding up to one second of permits
+     */
+    private static class Throttle {
+        private final double perSecond;
+        private double permits;
+        private long refilledAt = System.nanoTime();
+
+        private Throttle(double perSecond) {
+            this.perSecond = perSecond;
+            this.permits = perSecond;
+        }
+
+        private synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            permits = Math.min(perSecond, permits + (now - refilledAt) * perSecond / TimeUnit.SECONDS.toNanos(1));
+            refilledAt = now;
+            if (permits < 1) {
+                return false;
+            }
+            permits--;
+            return true;
+        }
+    }
+}
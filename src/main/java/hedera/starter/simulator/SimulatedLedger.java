@@ -0,0 +1,362 @@
+package hedera.starter.simulator;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountAmount;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.CryptoAllowance;
+import com.hedera.hashgraph.sdk.proto.CryptoApproveAllowanceTransactionBody;
+import com.hedera.hashgraph.sdk.proto.CryptoCreateTransactionBody;
+import com.hedera.hashgraph.sdk.proto.CryptoTransferTransactionBody;
+import com.hedera.hashgraph.sdk.proto.NftID;
+import com.hedera.hashgraph.sdk.proto.NftTransfer;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.TokenAssociateTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenBurnTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenCreateTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenID;
+import com.hedera.hashgraph.sdk.proto.TokenInfo;
+import com.hedera.hashgraph.sdk.proto.TokenMintTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenNftInfo;
+import com.hedera.hashgraph.sdk.proto.TokenSupplyType;
+import com.hedera.hashgraph.sdk.proto.TokenTransferList;
+import com.hedera.hashgraph.sdk.proto.TokenType;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory ledger behind the network simulator, covering the accounts, hbar transfers, allowances and NFTs
+ * the token service uses. Transactions are applied one at a time, as at consensus, and either apply in full
+ * or fail with the status the network would give. Signatures are not checked.
+ * <p>
+ * Accounts spring into existence with the initial balance the first time they are referenced, so
+ * operators and test accounts need no setup.
+ */
+public class SimulatedLedger {
+
+    // entities created on the ledger are numbered above any hand-picked test account
+    private static final long FIRST_ENTITY_NUM = 1_000_000;
+    private static final int MAX_MINT_BATCH = 10;
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final Map<Long, Token> tokens = new HashMap<>();
+    private final long initialBalance;
+    private long nextEntityNum = FIRST_ENTITY_NUM;
+
+    /**
+     * @param initialBalance tinybars held by an account the first time it is referenced
+     */
+    public SimulatedLedger(long initialBalance) {
+        this.initialBalance = initialBalance;
+    }
+
+    public synchronized TransactionReceipt apply(TransactionBody body) {
+        AccountID payer = body.getTransactionID().getAccountID();
+        TransactionReceipt.Builder receipt = TransactionReceipt.newBuilder();
+        ResponseCodeEnum status;
+        switch (body.getDataCase()) {
+            case CRYPTOCREATEACCOUNT:
+                status = createAccount(payer, body.getCryptoCreateAccount(), receipt);
+                break;
+            case CRYPTOTRANSFER:
+                status = transfer(payer, body.getCryptoTransfer());
+                break;
+            case CRYPTOAPPROVEALLOWANCE:
+                status = approve(payer, body.getCryptoApproveAllowance());
+                break;
+            case TOKENCREATION:
+                status = createToken(body.getTokenCreation(), receipt);
+                break;
+            case TOKENMINT:
+                status = mint(body.getTokenMint(), receipt);
+                break;
+            case TOKENBURN:
+                status = burn(body.getTokenBurn(), receipt);
+                break;
+            case TOKENASSOCIATE:
+                status = associate(body.getTokenAssociate());
+                break;
+            default:
+                status = ResponseCodeEnum.NOT_SUPPORTED;
+        }
+        return receipt.setStatus(status).build();
+    }
+
+    public synchronized long balance(AccountID accountId) {
+        return account(accountId).balance;
+    }
+
+    /**
+     * @return null if there is no such token
+     */
+    public synchronized TokenInfo tokenInfo(TokenID tokenId) {
+        Token token = tokens.get(tokenId.getTokenNum());
+        if (token == null) {
+            return null;
+        }
+        TokenCreateTransactionBody created = token.created;
+        TokenInfo.Builder info = TokenInfo.newBuilder()
+                .setTokenId(tokenId(token.num))
+                .setName(created.getName())
+                .setSymbol(created.getSymbol())
+                .setDecimals(created.getDecimals())
+                .setTotalSupply(token.nfts.size())
+                .setTreasury(created.getTreasury())
+                .setTokenType(created.getTokenType())
+                .setSupplyType(created.getSupplyType())
+                .setMaxSupply(created.getMaxSupply())
+                .setMemo(created.getMemo())
+                .addAllCustomFees(created.getCustomFeesList());
+        if (created.hasAdminKey()) {
+            info.setAdminKey(created.getAdminKey());
+        }
+        if (created.hasSupplyKey()) {
+            info.setSupplyKey(created.getSupplyKey());
+        }
+        if (created.hasFreezeKey()) {
+            info.setFreezeKey(created.getFreezeKey());
+        }
+        if (created.hasWipeKey()) {
+            info.setWipeKey(created.getWipeKey());
+        }
+        return info.build();
+    }
+
+    /**
+     * @return null if there is no such token or serial
+     */
+    public synchronized TokenNftInfo nft(NftID nftId) {
+        Token token = tokens.get(nftId.getTokenID().getTokenNum());
+        Nft nft = token == null ? null : token.nfts.get(nftId.getSerialNumber());
+        if (nft == null) {
+            return null;
+        }
+        return TokenNftInfo.newBuilder()
+                .setNftID(nftId)
+                .setAccountID(accountId(nft.owner))
+                .setCreationTime(nft.createdAt)
+                .setMetadata(nft.metadata)
+                .build();
+    }
+
+    private ResponseCodeEnum createAccount(AccountID payer, CryptoCreateTransactionBody create,
+                                           TransactionReceipt.Builder receipt) {
+        Account payerAccount = account(payer);
+        if (payerAccount.balance < create.getInitialBalance()) {
+            return ResponseCodeEnum.INSUFFICIENT_PAYER_BALANCE;
+        }
+        payerAccount.balance -= create.getInitialBalance();
+        long num = nextEntityNum++;
+        Account created = new Account(create.getInitialBalance());
+        accounts.put(num, created);
+        receipt.setAccountID(accountId(num));
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private ResponseCodeEnum transfer(AccountID payer, CryptoTransferTransactionBody transfer) {
+        // validate every leg before applying any, so a transfer applies in full or not at all
+        long sum = 0;
+        for (AccountAmount leg : transfer.getTransfers().getAccountAmountsList()) {
+            sum += leg.getAmount();
+            Account account = account(leg.getAccountID());
+            if (leg.getAmount() < 0 && account.balance < -leg.getAmount()) {
+                return ResponseCodeEnum.INSUFFICIENT_ACCOUNT_BALANCE;
+            }
+            if (leg.getIsApproval() && leg.getAmount() < 0) {
+                Long allowance = account.allowances.get(payer.getAccountNum());
+                if (allowance == null) {
+                    return ResponseCodeEnum.SPENDER_DOES_NOT_HAVE_ALLOWANCE;
+                }
+                if (allowance < -leg.getAmount()) {
+                    return ResponseCodeEnum.AMOUNT_EXCEEDS_ALLOWANCE;
+                }
+            }
+        }
+        if (sum != 0) {
+            return ResponseCodeEnum.INVALID_ACCOUNT_AMOUNTS;
+        }
+        for (TokenTransferList tokenTransfers : transfer.getTokenTransfersList()) {
+            if (tokenTransfers.getTransfersCount() > 0) {
+                return ResponseCodeEnum.NOT_SUPPORTED;
+            }
+            Token token = tokens.get(tokenTransfers.getToken().getTokenNum());
+            if (token == null) {
+                return ResponseCodeEnum.INVALID_TOKEN_ID;
+            }
+            for (NftTransfer nftTransfer : tokenTransfers.getNftTransfersList()) {
+                Nft nft = token.nfts.get(nftTransfer.getSerialNumber());
+                if (nft == null) {
+                    return ResponseCodeEnum.INVALID_NFT_ID;
+                }
+                if (nft.owner != nftTransfer.getSenderAccountID().getAccountNum()) {
+                    return ResponseCodeEnum.SENDER_DOES_NOT_OWN_NFT_SERIAL_NO;
+                }
+                if (!account(nftTransfer.getReceiverAccountID()).tokens.contains(token.num)) {
+                    return ResponseCodeEnum.TOKEN_NOT_ASSOCIATED_TO_ACCOUNT;
+                }
+            }
+        }
+
+        for (AccountAmount leg : transfer.getTransfers().getAccountAmountsList()) {
+            Account account = account(leg.getAccountID());
+            account.balance += leg.getAmount();
+            if (leg.getIsApproval() && leg.getAmount() < 0) {
+                account.allowances.merge(payer.getAccountNum(), leg.getAmount(), Long::sum);
+            }
+        }
+        for (TokenTransferList tokenTransfers : transfer.getTokenTransfersList()) {
+            Token token = tokens.get(tokenTransfers.getToken().getTokenNum());
+            for (NftTransfer nftTransfer : tokenTransfers.getNftTransfersList()) {
+                token.nfts.get(nftTransfer.getSerialNumber()).owner = nftTransfer.getReceiverAccountID().getAccountNum();
+            }
+        }
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private ResponseCodeEnum approve(AccountID payer, CryptoApproveAllowanceTransactionBody approve) {
+        for (CryptoAllowance allowance : approve.getCryptoAllowancesList()) {
+            Account owner = account(allowance.hasOwner() ? allowance.getOwner() : payer);
+            account(allowance.getSpender());
+            if (allowance.getAmount() == 0) {
+                owner.allowances.remove(allowance.getSpender().getAccountNum());
+            } else {
+                owner.allowances.put(allowance.getSpender().getAccountNum(), allowance.getAmount());
+            }
+        }
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private ResponseCodeEnum createToken(TokenCreateTransactionBody create, TransactionReceipt.Builder receipt) {
+        if (create.getTokenType() != TokenType.NON_FUNGIBLE_UNIQUE) {
+            return ResponseCodeEnum.NOT_SUPPORTED;
+        }
+        long num = nextEntityNum++;
+        tokens.put(num, new Token(num, create));
+        account(create.getTreasury()).tokens.add(num);
+        receipt.setTokenID(tokenId(num));
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private ResponseCodeEnum mint(TokenMintTransactionBody mint, TransactionReceipt.Builder receipt) {
+        Token token = tokens.get(mint.getToken().getTokenNum());
+        if (token == null) {
+            return ResponseCodeEnum.INVALID_TOKEN_ID;
+        }
+        List<ByteString> metadata = mint.getMetadataList();
+        if (metadata.isEmpty()) {
+            return ResponseCodeEnum.INVALID_TOKEN_MINT_METADATA;
+        }
+        if (metadata.size() > MAX_MINT_BATCH) {
+            return ResponseCodeEnum.BATCH_SIZE_LIMIT_EXCEEDED;
+        }
+        if (token.created.getSupplyType() == TokenSupplyType.FINITE
+                && token.nfts.size() + metadata.size() > token.created.getMaxSupply()) {
+            return ResponseCodeEnum.TOKEN_MAX_SUPPLY_REACHED;
+        }
+        long treasury = token.created.getTreasury().getAccountNum();
+        Timestamp now = now();
+        List<Long> serials = new ArrayList<>();
+        for (ByteString content : metadata) {
+            long serial = token.nextSerial++;
+            token.nfts.put(serial, new Nft(treasury, content, now));
+            serials.add(serial);
+        }
+        receipt.addAllSerialNumbers(serials).setNewTotalSupply(token.nfts.size());
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private ResponseCodeEnum burn(TokenBurnTransactionBody burn, TransactionReceipt.Builder receipt) {
+        Token token = tokens.get(burn.getToken().getTokenNum());
+        if (token == null) {
+            return ResponseCodeEnum.INVALID_TOKEN_ID;
+        }
+        long treasury = token.created.getTreasury().getAccountNum();
+        for (long serial : burn.getSerialNumbersList()) {
+            Nft nft = token.nfts.get(serial);
+            if (nft == null) {
+                return ResponseCodeEnum.INVALID_NFT_ID;
+            }
+            if (nft.owner != treasury) {
+                return ResponseCodeEnum.TREASURY_MUST_OWN_BURNED_NFT;
+            }
+        }
+        burn.getSerialNumbersList().forEach(token.nfts::remove);
+        receipt.setNewTotalSupply(token.nfts.size());
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private ResponseCodeEnum associate(TokenAssociateTransactionBody associate) {
+        Account account = account(associate.getAccount());
+        for (TokenID tokenId : associate.getTokensList()) {
+            if (!tokens.containsKey(tokenId.getTokenNum())) {
+                return ResponseCodeEnum.INVALID_TOKEN_ID;
+            }
+            if (account.tokens.contains(tokenId.getTokenNum())) {
+                return ResponseCodeEnum.TOKEN_ALREADY_ASSOCIATED_TO_ACCOUNT;
+            }
+        }
+        associate.getTokensList().forEach(tokenId -> account.tokens.add(tokenId.getTokenNum()));
+        return ResponseCodeEnum.SUCCESS;
+    }
+
+    private Account account(AccountID accountId) {
+        return accounts.computeIfAbsent(accountId.getAccountNum(), num -> new Account(initialBalance));
+    }
+
+    private static AccountID accountId(long num) {
+        return AccountID.newBuilder().setAccountNum(num).build();
+    }
+
+    private static TokenID tokenId(long num) {
+        return TokenID.newBuilder().setTokenNum(num).build();
+    }
+
+    private static Timestamp now() {
+        Instant now = Instant.now();
+        return Timestamp.newBuilder().setSeconds(now.getEpochSecond()).setNanos(now.getNano()).build();
+    }
+
+    private static class Account {
+        private long balance;
+        private final Set<Long> tokens = new HashSet<>();
+        // tinybars each spender may still transfer on this account's behalf
+        private final Map<Long, Long> allowances = new HashMap<>();
+
+        private Account(long balance) {
+            this.balance = balance;
+        }
+    }
+
+    private static class Token {
+        private final long num;
+        private final TokenCreateTransactionBody created;
+        private final Map<Long, Nft> nfts = new TreeMap<>();
+        private long nextSerial = 1;
+
+        private Token(long num, TokenCreateTransactionBody created) {
+            this.num = num;
+            this.created = created;
+        }
+    }
+
+    private static class Nft {
+        private long owner;
+        private final ByteString metadata;
+        private final Timestamp createdAt;
+
+        private Nft(long owner, ByteString metadata, Timestamp createdAt) {
+            this.owner = owner;
+            this.metadata = metadata;
+            this.createdAt = createdAt;
+        }
+    }
+}
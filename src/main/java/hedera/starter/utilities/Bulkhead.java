@@ -0,0 +1,163 @@
+package hedera.starter.utilities;
+
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caps the asynchronous operations of one class that are in flight at once. Work beyond the cap waits in a
+ * bounded queue and is rejected once that is full. Work starts and its result is delivered on the bulkhead's
+ * own threads, so one class's callbacks never hold up another's.
+ * <p>
+ * A caller whose work takes longer than the timeout gets a {@link TimeoutException}. Work that had started
+ * keeps its slot until it completes, since transactions already submitted cannot be called back.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final Deque<Call<?>> waiting = new ArrayDeque<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private int active;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration timeout, int threads) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> work) {
+        Call<T> call = new Call<>(work, IdempotencyContext.current());
+        boolean start;
+        synchronized (this) {
+            if (active < maxConcurrent) {
+                active++;
+                start = true;
+            } else if (waiting.size() < maxQueued) {
+                waiting.add(call);
+                start = false;
+            } else {
+                rejected.incrementAndGet();
+                return CompletableFuture.failedFuture(new BulkheadFullException(name, maxConcurrent, maxQueued));
+            }
+        }
+        if (start) {
+            start(call);
+        }
+        if (timeout.isZero()) {
+            return call.result;
+        }
+        return call.result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+            if (error instanceof TimeoutException) {
+                timedOut.incrementAndGet();
+                synchronized (this) {
+                    waiting.remove(call);
+                }
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int active() {
+        return active;
+    }
+
+    public synchronized int queued() {
+        return waiting.size();
+    }
+
+    /**
+     * Share of the concurrency limit in use, 1.0 once work starts queueing
+     */
+    public synchronized double saturation() {
+        return (double) active / maxConcurrent;
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    public long timedOut() {
+        return timedOut.get();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> void start(Call<T> call) {
+        try {
+            executor.execute(() -> {
+                CompletableFuture<T> attempt;
+                try {
+                    attempt = IdempotencyContext.with(call.listener, call.work);
+                } catch (RuntimeException e) {
+                    attempt = CompletableFuture.failedFuture(e);
+                }
+                attempt.whenCompleteAsync((result, error) -> {
+                    release();
+                    if (error == null) {
+                        call.result.complete(result);
+                    } else {
+                        call.result.completeExceptionally(error);
+                    }
+                }, executor);
+            });
+        } catch (RuntimeException e) {
+            // rejected once shut down
+            release();
+            call.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Hands the slot to the longest waiting call that has not timed out yet, or frees it
+     */
+    private void release() {
+        Call<?> next;
+        synchronized (this) {
+            do {
+                next = waiting.poll();
+            } while (next != null && next.result.isDone());
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    private static class Call<T> {
+        private final Supplier<CompletableFuture<T>> work;
+        private final IdempotencyContext.Listener listener;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Call(Supplier<CompletableFuture<T>> work, IdempotencyContext.Listener listener) {
+            this.work = work;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hedera.starter.utilities;
+
+/**
+ * Thrown when a bulkhead has no free slot and its wait queue is at its limit
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead, int maxConcurrent, int maxQueued) {
+        super("Bulkhead " + bulkhead + " is full with " + maxConcurrent + " running and " + maxQueued + " waiting");
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,50 @@
+package hedera.starter.utilities;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * One {@link Bulkhead} per operation class, configured under {@code hedera.bulkhead.<class>.*}
+ */
+@Component
+@Slf4j
+public class Bulkheads {
+
+    private final Map<OperationClass, Bulkhead> bulkheads = new EnumMap<>(OperationClass.class);
+
+    public Bulkheads(Environment environment) {
+        for (OperationClass operationClass : OperationClass.values()) {
+            String name = operationClass.name().toLowerCase();
+            String prefix = "hedera.bulkhead." + name + ".";
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, 64);
+            int maxQueued = environment.getProperty(prefix + "max-queued", Integer.class, 256);
+            Duration timeout = environment.getProperty(prefix + "timeout", Duration.class, Duration.ofSeconds(120));
+            int threads = environment.getProperty(prefix + "threads", Integer.class, 4);
+            bulkheads.put(operationClass, new Bulkhead(name, maxConcurrent, maxQueued, timeout, threads));
+            log.info("Bulkhead " + name + ": " + maxConcurrent + " concurrent, " + maxQueued + " queued, timeout " + timeout
+                    + ", " + threads + " threads");
+        }
+    }
+
+    public <T> CompletableFuture<T> run(OperationClass operationClass, Supplier<CompletableFuture<T>> work) {
+        return bulkheads.get(operationClass).run(work);
+    }
+
+    public Collection<Bulkhead> all() {
+        return bulkheads.values();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        bulkheads.values().forEach(Bulkhead::shutdown);
+    }
+}
@@ -0,0 +1,74 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+public class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Blocks on an SDK future and rethrows the checked exceptions the synchronous SDK calls would have thrown
+     */
+    public static <T> T await(CompletableFuture<T> future)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+        Throwable cause = join(future);
+        if (cause == null) {
+            return future.join();
+        }
+        if (cause instanceof ReceiptStatusException) {
+            throw (ReceiptStatusException) cause;
+        }
+        throw rethrow(cause);
+    }
+
+    public static <T> T awaitQuery(CompletableFuture<T> future) throws PrecheckStatusException, TimeoutException {
+        Throwable cause = join(future);
+        if (cause == null) {
+            return future.join();
+        }
+        throw rethrow(cause);
+    }
+
+    public static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static Throwable join(CompletableFuture<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Hedera response", e);
+        } catch (ExecutionException e) {
+            return unwrap(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) throws PrecheckStatusException, TimeoutException {
+        if (cause instanceof PrecheckStatusException) {
+            throw (PrecheckStatusException) cause;
+        }
+        if (cause instanceof TimeoutException) {
+            throw (TimeoutException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,216 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.Hbar;
+import com.hedera.hashgraph.sdk.PrivateKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of SDK clients, one per operator account, so transactions are paid for and ID'd by several
+ * payers in parallel. Each client admits at most {@code hedera.client.max-in-flight} transactions;
+ * callers over the limit wait for a lease without blocking a thread.
+ */
+@Component
+@Slf4j
+public class HederaClientPool {
+
+    private final List<PooledClient> clients = new ArrayList<>();
+    private final Queue<CompletableFuture<Lease>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextClient = new AtomicInteger();
+    private final boolean leastInFlight;
+    private final int maxInFlight;
+    private final Duration acquireTimeout;
+
+    public HederaClientPool(KeyRegistry keyRegistry,
+                            @Value("${hedera.client.network:testnet}") String network,
+                            @Value("${hedera.client.nodes:}") List<String> nodes,
+                            @Value("${hedera.client.operators:OPERATOR}") List<String> operators,
+                            @Value("${hedera.client.selection:round-robin}") String selection,
+                            @Value("${hedera.client.max-in-flight:64}") int maxInFlight,
+                            @Value("${hedera.client.acquire-timeout:10s}") Duration acquireTimeout) {
+        this.leastInFlight = "least-in-flight".equals(selection);
+        this.maxInFlight = maxInFlight;
+        this.acquireTimeout = acquireTimeout;
+
+        for (String operator : operators) {
+            AccountId operatorId = keyRegistry.accountId(operator + "_ID");
+            PrivateKey operatorKey = keyRegistry.privateKey(operator + "_KEY");
+            Client client = forNetwork(network, nodes);
+            client.setOperator(operatorId, operatorKey);
+            client.setDefaultMaxTransactionFee(Hbar.from(50));
+            clients.add(new PooledClient(operatorId, client));
+        }
+        log.info("Hedera client pool on " + network + " with operators " + operators + ", " + selection + " selection");
+    }
+
+    /**
+     * @param nodes for the {@code local} network, the nodes to talk to as {@code host:port=account ID}
+     */
+    private static Client forNetwork(String network, List<String> nodes) {
+        switch (network) {
+            case "local":
+                Map<String, AccountId> addresses = new HashMap<>();
+                for (String node : nodes) {
+                    String[] addressAndAccount = node.split("=");
+                    addresses.put(addressAndAccount[0].trim(), AccountId.fromString(addressAndAccount[1].trim()));
+                }
+                return Client.forNetwork(addresses);
+            case "mainnet":
+                return Client.forMainnet();
+            case "previewnet":
+                return Client.forPreviewnet();
+            case "testnet":
+                return Client.forTestnet();
+            default:
+                throw new IllegalArgumentException("Unknown Hedera network " + network);
+        }
+    }
+
+    /**
+     * Client for queries and receipt lookups, which do not count against the in-flight limit
+     */
+    public Client queryClient() {
+        return clients.get(Math.floorMod(nextClient.getAndIncrement(), clients.size())).client;
+    }
+
+    public List<Client> allClients() {
+        List<Client> all = new ArrayList<>();
+        clients.forEach(pooled -> all.add(pooled.client));
+        return all;
+    }
+
+    /**
+     * Completes with a lease on a client that has spare in-flight capacity; the lease must be closed
+     * once the transaction has resolved
+     */
+    public CompletableFuture<Lease> acquire() {
+        Lease lease = tryAcquire();
+        if (lease != null) {
+            return CompletableFuture.completedFuture(lease);
+        }
+        CompletableFuture<Lease> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        waiter.orTimeout(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    waiters.remove(waiter);
+                    return null;
+                });
+        // a lease may have been released between the failed attempt and joining the queue
+        drainWaiters();
+        return waiter;
+    }
+
+    public int inFlight() {
+        return clients.stream().mapToInt(pooled -> pooled.inFlight.get()).sum();
+    }
+
+    private Lease tryAcquire() {
+        if (leastInFlight) {
+            PooledClient best = null;
+            for (PooledClient pooled : clients) {
+                if (best == null || pooled.inFlight.get() < best.inFlight.get()) {
+                    best = pooled;
+                }
+            }
+            return best != null && best.tryReserve(maxInFlight) ? new Lease(best) : null;
+        }
+        int start = nextClient.getAndIncrement();
+        for (int i = 0; i < clients.size(); i++) {
+            PooledClient pooled = clients.get(Math.floorMod(start + i, clients.size()));
+            if (pooled.tryReserve(maxInFlight)) {
+                return new Lease(pooled);
+            }
+        }
+        return null;
+    }
+
+    private void drainWaiters() {
+        CompletableFuture<Lease> waiter;
+        while ((waiter = waiters.peek()) != null) {
+            Lease lease = tryAcquire();
+            if (lease == null) {
+                return;
+            }
+            waiters.remove(waiter);
+            if (!waiter.complete(lease)) {
+                // timed out meanwhile, hand the capacity to the next waiter
+                lease.pooled.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        for (PooledClient pooled : clients) {
+            try {
+                pooled.client.close();
+            } catch (TimeoutException e) {
+                log.warn("Timed out closing client for " + pooled.operatorId);
+            }
+        }
+    }
+
+    public class Lease implements AutoCloseable {
+        private final PooledClient pooled;
+        private boolean released;
+
+        private Lease(PooledClient pooled) {
+            this.pooled = pooled;
+        }
+
+        public Client client() {
+            return pooled.client;
+        }
+
+        public AccountId operatorId() {
+            return pooled.operatorId;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                pooled.inFlight.decrementAndGet();
+                drainWaiters();
+            }
+        }
+    }
+
+    private static class PooledClient {
+        private final AccountId operatorId;
+        private final Client client;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private PooledClient(AccountId operatorId, Client client) {
+            this.operatorId = operatorId;
+            this.client = client;
+        }
+
+        private boolean tryReserve(int limit) {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
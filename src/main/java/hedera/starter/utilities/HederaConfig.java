@@ -0,0 +1,40 @@
+package hedera.starter.utilities;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the .env configuration, read and parsed once instead of on every lookup.
+ * The file is read from the working directory unless the {@code hedera.env.directory} system property names another.
+ */
+public final class HederaConfig {
+
+    private final Map<String, String> values;
+
+    private HederaConfig(Map<String, String> values) {
+        this.values = Map.copyOf(values);
+    }
+
+    public static HederaConfig load() {
+        Map<String, String> values = new HashMap<>();
+        for (DotenvEntry entry : Dotenv.configure().directory(System.getProperty("hedera.env.directory", "./")).load().entries()) {
+            values.put(entry.getKey(), entry.getValue());
+        }
+        return new HederaConfig(values);
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public String require(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new IllegalStateException("Missing required configuration value " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,191 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the token service: time per service operation, time per transaction phase
+ * (queue, lease, freeze, sign, submit, receipt) and gauges for work in flight
+ */
+@Component
+public class HederaMetrics {
+
+    private final MeterRegistry registry;
+
+    public HederaMetrics(MeterRegistry registry,
+                         HederaClientPool clientPool,
+                         SubmissionScheduler scheduler,
+                         TransactionLog transactionLog,
+                         KeyPool keyPool,
+                         Bulkheads bulkheads,
+                         HedgedQueries hedgedQueries,
+                         NodeHealth nodeHealth,
+                         NftOwnershipIndex ownershipIndex) {
+        this.registry = registry;
+        Gauge.builder("hedera.transactions.in.flight", clientPool, HederaClientPool::inFlight)
+                .description("Transactions holding a client lease")
+                .register(registry);
+        Gauge.builder("hedera.transactions.unresolved", transactionLog, TransactionLog::inFlight)
+                .description("Submitted transactions without a receipt yet")
+                .register(registry);
+        Gauge.builder("hedera.keys.pool.size", keyPool, KeyPool::size)
+                .description("Pre-generated keys ready to hand out")
+                .register(registry);
+        FunctionCounter.builder("hedera.keys.pool.misses", keyPool, KeyPool::misses)
+                .description("Keys generated on the caller's thread because the pool was empty")
+                .register(registry);
+        FunctionCounter.builder("hedera.query.hedged", hedgedQueries, HedgedQueries::hedged)
+                .description("Queries sent to a second node after a slow answer or a failed node")
+                .register(registry);
+        FunctionCounter.builder("hedera.query.hedge.wins", hedgedQueries, HedgedQueries::hedgeWins)
+                .description("Second queries that answered first")
+                .register(registry);
+        Gauge.builder("hedera.query.hedge.delay", nodeHealth, health -> health.hedgeDelayNanos() / 1e6)
+                .description("Milliseconds a query waits before asking a second node")
+                .register(registry);
+        Gauge.builder("hedera.ownership.serials", ownershipIndex, NftOwnershipIndex::size)
+                .description("NFT serials with a known owner in the ownership index")
+                .register(registry);
+        Gauge.builder("hedera.ownership.bytes", ownershipIndex, NftOwnershipIndex::footprint)
+                .description("Memory held by the ownership index maps")
+                .register(registry);
+        Gauge.builder("hedera.ownership.feed.lag", ownershipIndex, index -> index.feedLag().toMillis() / 1e3)
+                .description("Seconds the mirror ownership feed lags behind; the index rejects nothing past its max lag")
+                .register(registry);
+        FunctionCounter.builder("hedera.ownership.rejected", ownershipIndex, NftOwnershipIndex::rejected)
+                .description("Transfers and burns turned away before submission by the ownership index")
+                .register(registry);
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            Gauge.builder("hedera.bulkhead.active", bulkhead, Bulkhead::active)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Operations running in the bulkhead")
+                    .register(registry);
+            Gauge.builder("hedera.bulkhead.queued", bulkhead, Bulkhead::queued)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Operations waiting for a slot in the bulkhead")
+                    .register(registry);
+            Gauge.builder("hedera.bulkhead.saturation", bulkhead, Bulkhead::saturation)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Share of the bulkhead's concurrency limit in use")
+                    .register(registry);
+            FunctionCounter.builder("hedera.bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Operations turned away with the bulkhead full")
+                    .register(registry);
+            FunctionCounter.builder("hedera.bulkhead.timeouts", bulkhead, Bulkhead::timedOut)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Operations that outlasted the bulkhead's timeout")
+                    .register(registry);
+        }
+        for (TransactionKind kind : TransactionKind.values()) {
+            Gauge.builder("hedera.submission.queue.depth", scheduler, s -> s.queueDepth(kind))
+                    .tag("kind", kind.name())
+                    .description("Work waiting for a submission permit")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Times a service operation from the call until its future completes
+     */
+    public <T> CompletableFuture<T> operation(String operation, CompletableFuture<T> future) {
+        long startedAt = System.nanoTime();
+        return future.whenComplete((result, error) -> Timer.builder("hedera.operation")
+                .tag("operation", operation)
+                .tag("status", status(result, error))
+                .register(registry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+    }
+
+    public TransactionTimer transaction(TransactionKind kind) {
+        return new TransactionTimer(kind);
+    }
+
+    private static String status(Object result, Throwable error) {
+        if (error == null) {
+            if (result instanceof TransactionReceipt) {
+                return ((TransactionReceipt) result).status.toString();
+            }
+            return result instanceof Status ? result.toString() : "SUCCESS";
+        }
+        Throwable cause = Futures.unwrap(error);
+        if (cause instanceof ReceiptStatusException) {
+            return ((ReceiptStatusException) cause).receipt.status.toString();
+        }
+        if (cause instanceof PrecheckStatusException) {
+            return ((PrecheckStatusException) cause).status.toString();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Splits one transaction's life into consecutive phases. Phase times are held until the final status
+     * is known, then all recorded under the same operation, node and status tags.
+     */
+    public class TransactionTimer {
+        private final TransactionKind kind;
+        private final Map<String, Long> phases = new LinkedHashMap<>();
+        private String operation;
+        private String node = "none";
+        private String phase = "queue";
+        private long phaseStartedAt = System.nanoTime();
+
+        private TransactionTimer(TransactionKind kind) {
+            this.kind = kind;
+            this.operation = kind.name();
+        }
+
+        /**
+         * Ends the current phase and starts {@code next}; a phase entered again, as on a requeue, accumulates
+         */
+        public synchronized void phase(String next) {
+            long now = System.nanoTime();
+            phases.merge(phase, now - phaseStartedAt, Long::sum);
+            phase = next;
+            phaseStartedAt = now;
+        }
+
+        public synchronized void transaction(Transaction<?> transaction) {
+            operation = transaction.getClass().getSimpleName().replace("Transaction", "");
+        }
+
+        public synchronized void node(AccountId nodeId) {
+            node = nodeId.toString();
+        }
+
+        public synchronized void finish(TransactionReceipt receipt, Throwable error) {
+            phases.merge(phase, System.nanoTime() - phaseStartedAt, Long::sum);
+            String status = status(receipt, error);
+            phases.forEach((name, nanos) -> Timer.builder("hedera.transaction.phase")
+                    .tag("operation", operation)
+                    .tag("kind", kind.name())
+                    .tag("node", node)
+                    .tag("status", status)
+                    .tag("phase", name)
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS));
+            Counter.builder("hedera.transactions")
+                    .tag("operation", operation)
+                    .tag("kind", kind.name())
+                    .tag("node", node)
+                    .tag("status", status)
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Sends each query to a node picked by {@link NodeHealth} and, when it has not answered within the hedge delay,
+ * to a second node as well, taking whichever answer arrives first. A node that fails outright hands over to
+ * the second node at once. A hedged paid query is paid for twice, the price of cutting the tail.
+ */
+@Component
+public class HedgedQueries {
+
+    private final NodeHealth nodeHealth;
+    private final boolean enabled;
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "query-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HedgedQueries(NodeHealth nodeHealth, @Value("${hedera.hedge.enabled:true}") boolean enabled) {
+        this.nodeHealth = nodeHealth;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param query runs the query against the given node only
+     */
+    public <T> CompletableFuture<T> execute(Client client, Function<AccountId, CompletableFuture<T>> query) {
+        Hedge<T> hedge = new Hedge<>(new HashSet<>(client.getNetwork().values()), query);
+        hedge.start();
+        return hedge.result;
+    }
+
+    /**
+     * Second queries sent, whether on a slow answer or a failed node
+     */
+    public long hedged() {
+        return hedged.get();
+    }
+
+    /**
+     * Second queries that answered first
+     */
+    public long hedgeWins() {
+        return hedgeWins.get();
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Whether the node rather than the request is at fault, so another node may do better
+     */
+    private static boolean isNodeFailure(Throwable error) {
+        Throwable cause = Futures.unwrap(error);
+        if (cause instanceof PrecheckStatusException) {
+            Status status = ((PrecheckStatusException) cause).status;
+            return status == Status.BUSY || status == Status.PLATFORM_NOT_ACTIVE;
+        }
+        return true;
+    }
+
+    private class Hedge<T> {
+        private final Collection<AccountId> nodes;
+        private final Function<AccountId, CompletableFuture<T>> query;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private AccountId primary;
+        private boolean secondStarted;
+        private int pending;
+
+        private Hedge(Collection<AccountId> nodes, Function<AccountId, CompletableFuture<T>> query) {
+            this.nodes = nodes;
+            this.query = query;
+        }
+
+        private void start() {
+            synchronized (this) {
+                primary = nodeHealth.choose(nodes, null);
+                pending++;
+            }
+            attempt(primary, false);
+            if (enabled && !result.isDone()) {
+                timer.schedule(this::startSecond, nodeHealth.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * @return false if the second node was already asked or there is none
+         */
+        private boolean startSecond() {
+            AccountId second;
+            synchronized (this) {
+                if (secondStarted || result.isDone()) {
+                    return false;
+                }
+                secondStarted = true;
+                second = nodeHealth.choose(nodes, primary);
+                if (second == null) {
+                    return false;
+                }
+                pending++;
+            }
+            hedged.incrementAndGet();
+            attempt(second, true);
+            return true;
+        }
+
+        private void attempt(AccountId node, boolean second) {
+            long startedAt = System.nanoTime();
+            CompletableFuture<T> answer;
+            try {
+                answer = query.apply(node);
+            } catch (RuntimeException e) {
+                answer = CompletableFuture.failedFuture(e);
+            }
+            answer.whenComplete((value, error) -> {
+                boolean nodeFailure = error != null && isNodeFailure(error);
+                nodeHealth.record(node, System.nanoTime() - startedAt, nodeFailure);
+                synchronized (this) {
+                    pending--;
+                }
+                if (error == null) {
+                    if (result.complete(value) && second) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    return;
+                }
+                if (!nodeFailure) {
+                    // the request itself was refused, another node would say the same
+                    result.completeExceptionally(error);
+                    return;
+                }
+                if (enabled && !second && startSecond()) {
+                    return;
+                }
+                synchronized (this) {
+                    if (pending > 0) {
+                        return;
+                    }
+                }
+                result.completeExceptionally(error);
+            });
+        }
+    }
+}
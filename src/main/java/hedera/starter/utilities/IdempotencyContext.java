@@ -0,0 +1,85 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.TransactionId;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Carries the listener for transaction IDs submitted on behalf of an idempotent request. It is bound to the
+ * request thread, so work handed to another thread has to {@link #current() capture} it and
+ * {@link #with(Listener, Supplier) rebind} it there.
+ */
+public class IdempotencyContext {
+
+    private static final Listener NONE = transactionId -> {
+    };
+    private static final ThreadLocal<Listener> LISTENER = ThreadLocal.withInitial(() -> NONE);
+
+    private IdempotencyContext() {
+    }
+
+    public static Listener current() {
+        return LISTENER.get();
+    }
+
+    public static void bind(Listener listener) {
+        LISTENER.set(listener);
+    }
+
+    public static void clear() {
+        LISTENER.remove();
+    }
+
+    public static <T> T with(Listener listener, Supplier<T> work) {
+        Listener previous = LISTENER.get();
+        LISTENER.set(listener);
+        try {
+            return work.get();
+        } finally {
+            LISTENER.set(previous);
+        }
+    }
+
+    public interface Listener {
+        /**
+         * Called before the transaction is sent, so its ID is on record however the send ends
+         */
+        void submitted(TransactionId transactionId);
+
+        /**
+         * Called once the network accepted the transaction at precheck. An attempt turned away and resent
+         * under a new ID is never accepted; the attempt that replaces it is.
+         */
+        default void accepted(TransactionId transactionId) {
+        }
+
+        /**
+         * Called once the transaction's outcome is final, with the error it failed with if it did
+         */
+        default void resolved(TransactionId transactionId, Throwable error) {
+        }
+
+        /**
+         * Forwards to every listener, for one transaction carried out on behalf of several requests
+         */
+        static Listener all(List<Listener> listeners) {
+            return new Listener() {
+                @Override
+                public void submitted(TransactionId transactionId) {
+                    listeners.forEach(listener -> listener.submitted(transactionId));
+                }
+
+                @Override
+                public void accepted(TransactionId transactionId) {
+                    listeners.forEach(listener -> listener.accepted(transactionId));
+                }
+
+                @Override
+                public void resolved(TransactionId transactionId, Throwable error) {
+                    listeners.forEach(listener -> listener.resolved(transactionId, error));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package hedera.starter.utilities;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only, memory-mapped record of idempotency keys: the request each key was first used for, the
+ * transactions submitted for it and the response it produced. Every key is also held in an in-memory
+ * index, so lookups never read the file; the file is only replayed on startup and rewritten on compaction.
+ */
+@Component
+@Slf4j
+public class IdempotencyJournal {
+
+    private static final byte BEGIN = 1;
+    private static final byte TRANSACTION = 2;
+    private static final byte COMPLETE = 3;
+    private static final byte REMOVE = 4;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final MappedRecordLog file;
+    private final long retentionMillis;
+
+    public IdempotencyJournal(@Value("${hedera.idempotency.journal:data/idempotency.journal}") String path,
+                              @Value("${hedera.idempotency.journal-capacity:64MB}") DataSize capacity,
+                              @Value("${hedera.idempotency.retention:24h}") Duration retention,
+                              @Value("${hedera.idempotency.force-writes:false}") boolean forceWrites) throws IOException {
+        this.file = new MappedRecordLog(Paths.get(path), capacity.toBytes(), forceWrites);
+        this.retentionMillis = retention.toMillis();
+        file.replay().forEach(this::apply);
+        index.entrySet().removeIf(entry -> entry.getValue().isExpired(retentionMillis));
+        log.info("Idempotency journal " + path + " holds " + index.size() + " keys");
+    }
+
+    public Entry get(String key) {
+        Entry entry = index.get(key);
+        return entry == null || entry.isExpired(retentionMillis) ? null : entry;
+    }
+
+    /**
+     * Keys of the requests that submitted the transaction, normally at most one
+     */
+    public List<String> keysOf(String transactionId) {
+        List<String> keys = new ArrayList<>();
+        index.forEach((key, entry) -> {
+            if (!entry.isExpired(retentionMillis) && entry.transactionIds.contains(transactionId)) {
+                keys.add(key);
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * Claims {@code key} for a new request
+     *
+     * @return null when the key was free and is now claimed, otherwise the entry that already holds it
+     */
+    public synchronized Entry begin(String key, String fingerprint) {
+        Entry existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Entry entry = new Entry(fingerprint, System.currentTimeMillis());
+        index.put(key, entry);
+        append(BEGIN, key, out -> {
+            out.writeUTF(fingerprint);
+            out.writeLong(entry.createdAt);
+        });
+        return null;
+    }
+
+    public synchronized void transaction(String key, String transactionId) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.transactionIds.add(transactionId);
+        append(TRANSACTION, key, out -> out.writeUTF(transactionId));
+    }
+
+    public synchronized void complete(String key, int status, String contentType, byte[] body) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.complete(status, contentType, body);
+        append(COMPLETE, key, out -> writeResponse(out, entry));
+    }
+
+    /**
+     * Releases a key whose request was not carried out, so it can be used again
+     */
+    public synchronized void remove(String key) {
+        if (index.remove(key) != null) {
+            append(REMOVE, key, out -> {
+            });
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the live entries, dropping released and expired keys
+     */
+    @Scheduled(fixedDelayString = "${hedera.idempotency.compact-interval:10m}")
+    public synchronized void compact() {
+        index.entrySet().removeIf(entry -> entry.getValue().isExpired(retentionMillis));
+        List<byte[]> records = new ArrayList<>();
+        for (Map.Entry<String, Entry> live : index.entrySet()) {
+            Entry entry = live.getValue();
+            records.add(record(BEGIN, live.getKey(), out -> {
+                out.writeUTF(entry.fingerprint);
+                out.writeLong(entry.createdAt);
+            }));
+            for (String transactionId : entry.transactionIds) {
+                records.add(record(TRANSACTION, live.getKey(), out -> out.writeUTF(transactionId)));
+            }
+            if (entry.isComplete()) {
+                records.add(record(COMPLETE, live.getKey(), out -> writeResponse(out, entry)));
+            }
+        }
+        file.rewrite(records);
+        log.debug("Compacted idempotency journal to " + index.size() + " keys");
+    }
+
+    @PreDestroy
+    synchronized void flush() {
+        file.force();
+    }
+
+    private void append(byte type, String key, MappedRecordLog.RecordWriter writer) {
+        if (!file.append(record(type, key, writer))) {
+            // the record is already reflected in the index, so compaction writes it out
+            compact();
+        }
+    }
+
+    private void apply(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte type = in.readByte();
+            String key = in.readUTF();
+            switch (type) {
+                case BEGIN:
+                    index.put(key, new Entry(in.readUTF(), in.readLong()));
+                    break;
+                case TRANSACTION:
+                    Entry pending = index.get(key);
+                    if (pending != null) {
+                        pending.transactionIds.add(in.readUTF());
+                    }
+                    break;
+                case COMPLETE:
+                    Entry completed = index.get(key);
+                    if (completed != null) {
+                        int status = in.readInt();
+                        String contentType = in.readUTF();
+                        byte[] body = new byte[in.readInt()];
+                        in.readFully(body);
+                        completed.complete(status, contentType.isEmpty() ? null : contentType, body);
+                    }
+                    break;
+                case REMOVE:
+                    index.remove(key);
+                    break;
+                default:
+                    log.warn("Skipping unknown idempotency record type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeResponse(DataOutputStream out, Entry entry) throws IOException {
+        out.writeInt(entry.status);
+        out.writeUTF(entry.contentType == null ? "" : entry.contentType);
+        out.writeInt(entry.body.length);
+        out.write(entry.body);
+    }
+
+    private static byte[] record(byte type, String key, MappedRecordLog.RecordWriter writer) {
+        return MappedRecordLog.record(out -> {
+            out.writeByte(type);
+            out.writeUTF(key);
+            writer.write(out);
+        });
+    }
+
+    public static class Entry {
+        private final String fingerprint;
+        private final long createdAt;
+        private final List<String> transactionIds = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean complete;
+        private int status;
+        private String contentType;
+        private byte[] body;
+
+        private Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+
+        private void complete(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.complete = true;
+        }
+
+        private boolean isExpired(long retentionMillis) {
+            return System.currentTimeMillis() - createdAt > retentionMillis;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public List<String> getTransactionIds() {
+            return List.copyOf(transactionIds);
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
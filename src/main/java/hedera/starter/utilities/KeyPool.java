@@ -0,0 +1,156 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.PrivateKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-generated ED25519 keys, so handing out a new key costs a queue poll instead of key generation.
+ * A background thread refills the pool up to the high watermark once it drops below the low watermark;
+ * when the pool runs dry, keys are generated on the caller's thread.
+ * <p>
+ * Pooled keys are held as raw bytes and zeroed once handed out, expired or discarded. The {@link PrivateKey}
+ * objects built from them are out of the pool's reach and live until collected.
+ */
+@Component
+@Slf4j
+public class KeyPool {
+
+    private final BlockingQueue<PooledKey> keys;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final Duration maxAge;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final AtomicLong misses = new AtomicLong();
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "key-pool-refill");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public KeyPool(@Value("${hedera.keys.pool.low-watermark:250}") int lowWatermark,
+                   @Value("${hedera.keys.pool.high-watermark:1000}") int highWatermark,
+                   @Value("${hedera.keys.pool.max-age:1h}") Duration maxAge) {
+        if (lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("Key pool low watermark " + lowWatermark + " exceeds high watermark " + highWatermark);
+        }
+        this.keys = new ArrayBlockingQueue<>(Math.max(highWatermark, 1));
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.maxAge = maxAge;
+    }
+
+    @PostConstruct
+    void start() {
+        refill();
+    }
+
+    @PreDestroy
+    void stop() {
+        refiller.shutdownNow();
+        PooledKey key;
+        while ((key = keys.poll()) != null) {
+            key.zero();
+        }
+    }
+
+    public PrivateKey take() {
+        PooledKey pooled = keys.poll();
+        if (keys.size() < lowWatermark) {
+            refill();
+        }
+        if (pooled == null) {
+            misses.incrementAndGet();
+            return PrivateKey.generateED25519();
+        }
+        try {
+            return PrivateKey.fromBytesED25519(pooled.raw);
+        } finally {
+            pooled.zero();
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Keys handed out by generating them on the spot because the pool was empty
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Discards keys that have waited longer than the maximum age. Keys are queued oldest first.
+     */
+    @Scheduled(fixedDelayString = "${hedera.keys.pool.eviction-interval:1m}")
+    public void evictExpired() {
+        long expiredBefore = System.nanoTime() - maxAge.toNanos();
+        int evicted = 0;
+        PooledKey oldest;
+        while ((oldest = keys.peek()) != null && oldest.createdAt < expiredBefore) {
+            if (keys.remove(oldest)) {
+                oldest.zero();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted " + evicted + " expired keys from the key pool");
+            refill();
+        }
+    }
+
+    private void refill() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refiller.execute(() -> {
+                try {
+                    while (keys.size() < highWatermark) {
+                        PooledKey key = new PooledKey(PrivateKey.generateED25519().toBytesRaw());
+                        if (!keys.offer(key)) {
+                            key.zero();
+                            break;
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Key pool refill failed", e);
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // rejected once shut down
+            refilling.set(false);
+        }
+    }
+
+    private static class PooledKey {
+        private final byte[] raw;
+        private final long createdAt = System.nanoTime();
+
+        private PooledKey(byte[] raw) {
+            this.raw = raw;
+        }
+
+        private void zero() {
+            Arrays.fill(raw, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.PrivateKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named keys and account IDs from the configuration, each parsed once per configuration snapshot.
+ * Lookups are a volatile read plus a concurrent map hit; {@link #reload()} swaps in a new snapshot for key rotation.
+ */
+@Component
+@Slf4j
+public class KeyRegistry {
+
+    private volatile Snapshot snapshot = new Snapshot(HederaConfig.load());
+
+    public HederaConfig config() {
+        return snapshot.config;
+    }
+
+    public PrivateKey privateKey(String name) {
+        Snapshot current = snapshot;
+        PrivateKey key = current.keys.get(name);
+        return key != null ? key : current.keys.computeIfAbsent(name,
+                n -> PrivateKey.fromString(current.config.require(n)));
+    }
+
+    public AccountId accountId(String name) {
+        Snapshot current = snapshot;
+        AccountId accountId = current.accounts.get(name);
+        return accountId != null ? accountId : current.accounts.computeIfAbsent(name,
+                n -> AccountId.fromString(current.config.require(n)));
+    }
+
+    /**
+     * Re-reads the configuration and re-parses every key and account already in use before publishing it,
+     * so a broken rotation fails here and leaves the previous snapshot in place
+     */
+    public synchronized void reload() {
+        Snapshot previous = snapshot;
+        Snapshot next = new Snapshot(HederaConfig.load());
+        previous.keys.keySet().forEach(name -> next.keys.put(name, PrivateKey.fromString(next.config.require(name))));
+        previous.accounts.keySet().forEach(name -> next.accounts.put(name, AccountId.fromString(next.config.require(name))));
+        snapshot = next;
+        log.info("Reloaded configuration with " + next.keys.size() + " keys and " + next.accounts.size() + " accounts");
+    }
+
+    private static class Snapshot {
+        private final HederaConfig config;
+        private final Map<String, PrivateKey> keys = new ConcurrentHashMap<>();
+        private final Map<String, AccountId> accounts = new ConcurrentHashMap<>();
+
+        private Snapshot(HederaConfig config) {
+            this.config = config;
+        }
+    }
+}
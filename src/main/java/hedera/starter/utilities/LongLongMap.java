@@ -0,0 +1,106 @@
+package hedera.starter.utilities;
+
+/**
+ * Open-addressing hash map from long to long without boxing, about 16 bytes per slot at up to
+ * three quarters full. Key 0 marks a free slot and cannot be stored. Not thread-safe.
+ */
+class LongLongMap {
+
+    private static final long FREE = 0;
+    private static final double MAX_LOAD = 0.75;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    LongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    /**
+     * @return the value for {@code key}, or {@code missing} if there is none
+     */
+    long get(long key, long missing) {
+        int slot = find(key);
+        return keys[slot] == FREE ? missing : values[slot];
+    }
+
+    void put(long key, long value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Key " + FREE + " cannot be stored");
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            if (size + 1 > keys.length * MAX_LOAD) {
+                grow();
+                slot = find(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    void remove(long key) {
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            return;
+        }
+        keys[slot] = FREE;
+        size--;
+        // shift later entries of the probe run back so lookups never stop at the hole
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                keys[next] = FREE;
+                hole = next;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes held by the backing arrays
+     */
+    long footprint() {
+        return 16L * keys.length;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    static int hash(long key) {
+        // serials are dense, so spread them before masking
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
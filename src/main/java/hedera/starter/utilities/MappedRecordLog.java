@@ -0,0 +1,166 @@
+package hedera.starter.utilities;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of records, mapped into memory so an append is a memory copy. Records are framed as
+ * {@code [length][crc32][payload]} with the length written last, so an append cut short by a crash reads back
+ * as the end of the log; replay stops at the first zero length or checksum mismatch.
+ */
+@Slf4j
+public class MappedRecordLog {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path path;
+    private final boolean forceWrites;
+    private long capacity;
+    private MappedByteBuffer buffer;
+
+    /**
+     * @param forceWrites sync every append to disk; without it appends survive a process crash but not an OS crash
+     */
+    public MappedRecordLog(Path path, long capacity, boolean forceWrites) throws IOException {
+        this.path = path;
+        this.forceWrites = forceWrites;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.capacity = Math.max(capacity, Files.exists(path) ? Files.size(path) : 0);
+        this.buffer = map(path, this.capacity);
+    }
+
+    /**
+     * Reads every intact record from the start of the log and positions it for appending after them.
+     * Call once, before the first append.
+     */
+    public synchronized List<byte[]> replay() {
+        List<byte[]> records = new ArrayList<>();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length == 0) {
+                buffer.position(start);
+                break;
+            }
+            if (length < 0 || length > buffer.remaining() || checksum != checksum(buffer, length)) {
+                log.warn(path + " is torn at offset " + start + ", discarding the rest");
+                buffer.position(start);
+                // zero the torn tail so it cannot be read back once new records are appended over it
+                for (int i = start; i < buffer.limit(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                break;
+            }
+            byte[] record = new byte[length];
+            buffer.get(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * @return false when the log has no room left for the record, in which case the caller should
+     * {@link #rewrite} it with its live records
+     */
+    public synchronized boolean append(byte[] record) {
+        // keep room for a zero length after the last record, which marks the end
+        if (buffer.remaining() < HEADER_BYTES * 2 + record.length) {
+            return false;
+        }
+        write(buffer, record);
+        if (forceWrites) {
+            buffer.force();
+        }
+        return true;
+    }
+
+    /**
+     * Atomically replaces the log with {@code records}, growing the file so at least as much room is left
+     * for appends as the records take
+     */
+    public synchronized void rewrite(List<byte[]> records) {
+        long size = HEADER_BYTES;
+        for (byte[] record : records) {
+            size += HEADER_BYTES + record.length;
+        }
+        while (capacity < size * 2) {
+            capacity *= 2;
+        }
+
+        Path rewritten = path.resolveSibling(path.getFileName() + ".rewrite");
+        try {
+            Files.deleteIfExists(rewritten);
+            MappedByteBuffer next = map(rewritten, capacity);
+            for (byte[] record : records) {
+                write(next, record);
+            }
+            next.force();
+            Files.move(rewritten, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            buffer = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rewrite " + path, e);
+        }
+    }
+
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public static byte[] record(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void write(ByteBuffer target, byte[] record) {
+        int start = target.position();
+        target.position(start + Integer.BYTES);
+        target.putInt(checksum(ByteBuffer.wrap(record), record.length));
+        target.put(record);
+        target.putInt(start, record.length);
+    }
+
+    private static int checksum(ByteBuffer source, int length) {
+        CRC32 crc = new CRC32();
+        ByteBuffer record = source.slice();
+        record.limit(length);
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    public interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,119 @@
+package hedera.starter.utilities;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Coalesces concurrently submitted items that share a key into batches. A batch is flushed once it holds
+ * {@code maxSize} items or {@code linger} after its first item arrived, whichever comes first.
+ *
+ * @param <K> what items are grouped by
+ * @param <I> submitted item
+ * @param <R> per-item result
+ */
+public class MicroBatcher<K, I, R> implements AutoCloseable {
+
+    private final int maxSize;
+    private final long lingerNanos;
+    private final BiFunction<K, List<I>, List<CompletableFuture<R>>> flusher;
+    private final Map<K, Batch<K, I, R>> open = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+
+    /**
+     * @param flusher settles one batch and returns a result per item, in submission order
+     */
+    public MicroBatcher(String name, int maxSize, Duration linger,
+                        BiFunction<K, List<I>, List<CompletableFuture<R>>> flusher) {
+        this.maxSize = maxSize;
+        this.lingerNanos = linger.toNanos();
+        this.flusher = flusher;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<R> submit(K key, I item) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        List<Batch<K, I, R>> created = new ArrayList<>(1);
+        List<Batch<K, I, R>> full = new ArrayList<>(1);
+
+        open.compute(key, (k, batch) -> {
+            if (batch == null) {
+                batch = new Batch<>(k);
+                created.add(batch);
+            }
+            batch.items.add(item);
+            batch.results.add(result);
+            if (batch.items.size() >= maxSize) {
+                full.add(batch);
+                return null;
+            }
+            return batch;
+        });
+
+        if (!full.isEmpty()) {
+            flush(full.get(0));
+        } else if (!created.isEmpty()) {
+            Batch<K, I, R> batch = created.get(0);
+            timer.schedule(() -> {
+                if (open.remove(key, batch)) {
+                    flush(batch);
+                }
+            }, lingerNanos, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Flushes whatever is still lingering and stops the timer
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        open.forEach((key, batch) -> {
+            if (open.remove(key, batch)) {
+                flush(batch);
+            }
+        });
+    }
+
+    private void flush(Batch<K, I, R> batch) {
+        List<CompletableFuture<R>> settled;
+        try {
+            settled = flusher.apply(batch.key, batch.items);
+        } catch (RuntimeException e) {
+            batch.results.forEach(result -> result.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < batch.results.size(); i++) {
+            CompletableFuture<R> result = batch.results.get(i);
+            settled.get(i).whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(Futures.unwrap(error));
+                } else {
+                    result.complete(value);
+                }
+            });
+        }
+    }
+
+    private static class Batch<K, I, R> {
+        private final K key;
+        private final List<I> items = new ArrayList<>();
+        private final List<CompletableFuture<R>> results = new ArrayList<>();
+
+        private Batch(K key) {
+            this.key = key;
+        }
+    }
+}
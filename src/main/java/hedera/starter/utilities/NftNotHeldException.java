@@ -0,0 +1,28 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.NftId;
+import com.hedera.hashgraph.sdk.Status;
+
+/**
+ * Thrown before submission when the ownership index knows the transaction would fail,
+ * carrying the status the network would have answered with
+ */
+public class NftNotHeldException extends RuntimeException {
+
+    private final NftId nftId;
+    private final Status status;
+
+    public NftNotHeldException(NftId nftId, Status status, String message) {
+        super(message);
+        this.nftId = nftId;
+        this.status = status;
+    }
+
+    public NftId getNftId() {
+        return nftId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,265 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.NftId;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.TokenId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Who holds each NFT serial this service has seen minted, transferred or burned, learnt from its own
+ * confirmed receipts and the mirror node. Transfers and burns the index knows would fail are turned away
+ * before they cost a submission. A serial the index knows nothing about is never turned away, and a serial
+ * the network disagrees about is forgotten.
+ * <p>
+ * The index only runs alongside the mirror feed: on its own receipts alone it would never learn of serials
+ * moved by wallets or other instances, and would keep turning their real owners away. For the same reason it
+ * turns nothing away while the feed lags more than {@code hedera.ownership.mirror-feed.max-lag} behind.
+ * <p>
+ * Owners are stored as account numbers in the token's shard and realm, one primitive map per token.
+ */
+@Component
+public class NftOwnershipIndex {
+
+    private static final long UNKNOWN = 0;
+    private static final long BURNED = -1;
+
+    private final Map<TokenId, Serials> tokens = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final boolean enabled;
+    private final Duration maxFeedLag;
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    public NftOwnershipIndex(@Value("${hedera.ownership.enabled:true}") boolean enabled,
+                             @Value("${hedera.ownership.mirror-feed.enabled:false}") boolean mirrorFeed,
+                             @Value("${hedera.ownership.mirror-feed.max-lag:30s}") Duration maxFeedLag) {
+        this.enabled = enabled && mirrorFeed;
+        this.maxFeedLag = maxFeedLag;
+    }
+
+    public void tokenCreated(TokenId tokenId, AccountId treasury) {
+        if (enabled) {
+            serials(tokenId).treasury = encode(tokenId, treasury);
+        }
+    }
+
+    /**
+     * New serials go to the treasury, if the index knows it
+     */
+    public void minted(TokenId tokenId, List<Long> serials) {
+        if (!enabled) {
+            return;
+        }
+        Serials token = serials(tokenId);
+        synchronized (token) {
+            for (long serial : serials) {
+                token.set(serial, token.treasury);
+            }
+        }
+    }
+
+    /**
+     * Records the owner after a transfer this service saw succeed
+     */
+    public void transferred(NftId nftId, AccountId owner) {
+        if (enabled) {
+            Serials token = serials(nftId.tokenId);
+            synchronized (token) {
+                token.set(nftId.serial, encode(nftId.tokenId, owner));
+            }
+        }
+    }
+
+    public void burned(NftId nftId) {
+        if (enabled) {
+            Serials token = serials(nftId.tokenId);
+            synchronized (token) {
+                token.set(nftId.serial, BURNED);
+            }
+        }
+    }
+
+    /**
+     * Applies an owner read from the mirror node, which may lag behind our own receipts: a serial the index
+     * knows nothing about takes the owner, an owner the mirror contradicts is forgotten. Only tokens already
+     * in the index are tracked.
+     *
+     * @param owner null for a burned serial
+     */
+    public void reported(NftId nftId, AccountId owner) {
+        Serials token = enabled ? tokens.get(nftId.tokenId) : null;
+        if (token == null) {
+            return;
+        }
+        long reported = owner == null ? BURNED : encode(nftId.tokenId, owner);
+        synchronized (token) {
+            long known = token.owners.get(nftId.serial, UNKNOWN);
+            if (known == UNKNOWN) {
+                token.set(nftId.serial, reported);
+            } else if (known != reported) {
+                token.set(nftId.serial, UNKNOWN);
+            }
+        }
+    }
+
+    /**
+     * The feed has reported every serial of every indexed token as of {@code consensusTime}
+     */
+    public void synced(Instant consensusTime) {
+        syncedUpTo = consensusTime;
+    }
+
+    /**
+     * How far the feed's last complete pass lags behind the wall clock
+     */
+    public Duration feedLag() {
+        return Duration.between(syncedUpTo, Instant.now());
+    }
+
+    /**
+     * Tokens whose serials the index holds, for the feed to follow
+     */
+    public Set<TokenId> tokens() {
+        return Set.copyOf(tokens.keySet());
+    }
+
+    /**
+     * Forgets the serial when the network rejected an operation on it for ownership reasons
+     */
+    public void failed(NftId nftId, Throwable error) {
+        Throwable cause = Futures.unwrap(error);
+        Status status = cause instanceof ReceiptStatusException ? ((ReceiptStatusException) cause).receipt.status
+                : cause instanceof PrecheckStatusException ? ((PrecheckStatusException) cause).status
+                : null;
+        if (status == Status.SENDER_DOES_NOT_OWN_NFT_SERIAL_NO || status == Status.INVALID_NFT_ID
+                || status == Status.TREASURY_MUST_OWN_BURNED_NFT) {
+            forget(nftId);
+        }
+    }
+
+    /**
+     * Forgets the serial when an operation on it ran but its outcome is not known
+     */
+    public void forget(NftId nftId) {
+        Serials token = tokens.get(nftId.tokenId);
+        if (token != null) {
+            synchronized (token) {
+                token.set(nftId.serial, UNKNOWN);
+            }
+        }
+    }
+
+    /**
+     * @throws NftNotHeldException if the serial is known to be burned or held by another account
+     */
+    public void checkTransfer(NftId nftId, AccountId seller) {
+        long owner = owner(nftId);
+        if (owner == BURNED) {
+            reject(nftId, Status.INVALID_NFT_ID, "NFT " + nftId + " has been burned");
+        }
+        if (owner != UNKNOWN && owner != encode(nftId.tokenId, seller)) {
+            reject(nftId, Status.SENDER_DOES_NOT_OWN_NFT_SERIAL_NO,
+                    "NFT " + nftId + " is held by " + decode(nftId.tokenId, owner) + ", not " + seller);
+        }
+    }
+
+    /**
+     * @throws NftNotHeldException if the serial is known to be burned or out of the treasury
+     */
+    public void checkBurn(NftId nftId) {
+        long owner = owner(nftId);
+        if (owner == BURNED) {
+            reject(nftId, Status.INVALID_NFT_ID, "NFT " + nftId + " has already been burned");
+        }
+        Serials token = tokens.get(nftId.tokenId);
+        long treasury = token == null ? UNKNOWN : token.treasury;
+        if (owner != UNKNOWN && treasury != UNKNOWN && owner != treasury) {
+            reject(nftId, Status.TREASURY_MUST_OWN_BURNED_NFT,
+                    "NFT " + nftId + " is held by " + decode(nftId.tokenId, owner) + ", not the treasury");
+        }
+    }
+
+    /**
+     * Serials with a known owner or known to be burned
+     */
+    public long size() {
+        long size = 0;
+        for (Serials token : tokens.values()) {
+            synchronized (token) {
+                size += token.owners.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Bytes held by the per-token maps
+     */
+    public long footprint() {
+        long bytes = 0;
+        for (Serials token : tokens.values()) {
+            synchronized (token) {
+                bytes += token.owners.footprint();
+            }
+        }
+        return bytes;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private long owner(NftId nftId) {
+        Serials token = enabled ? tokens.get(nftId.tokenId) : null;
+        if (token == null || feedLag().compareTo(maxFeedLag) > 0) {
+            return UNKNOWN;
+        }
+        synchronized (token) {
+            return token.owners.get(nftId.serial, UNKNOWN);
+        }
+    }
+
+    private void reject(NftId nftId, Status status, String message) {
+        rejected.increment();
+        throw new NftNotHeldException(nftId, status, message);
+    }
+
+    private Serials serials(TokenId tokenId) {
+        return tokens.computeIfAbsent(tokenId, id -> new Serials());
+    }
+
+    /**
+     * Owners outside the token's shard and realm cannot be stored and stay unknown
+     */
+    private static long encode(TokenId tokenId, AccountId account) {
+        return account.shard == tokenId.shard && account.realm == tokenId.realm ? account.num : UNKNOWN;
+    }
+
+    private static AccountId decode(TokenId tokenId, long owner) {
+        return new AccountId(tokenId.shard, tokenId.realm, owner);
+    }
+
+    private static class Serials {
+        private final LongLongMap owners = new LongLongMap(64);
+        private volatile long treasury = UNKNOWN;
+
+        private void set(long serial, long owner) {
+            if (owner == UNKNOWN) {
+                owners.remove(serial);
+            } else {
+                owners.put(serial, owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scores consensus nodes by the exponentially weighted moving average of their query latency and error rate,
+ * and tracks the latency percentile across all nodes that hedged queries wait for before asking a second node.
+ * A node not heard from within the probe interval scores as untried, so a node that was slow once gets
+ * another chance.
+ */
+@Component
+public class NodeHealth {
+
+    private static final int LATENCY_WINDOW = 512;
+    private static final int PERCENTILE_EVERY = 64;
+
+    private final Map<AccountId, Score> scores = new ConcurrentHashMap<>();
+    private final double alpha;
+    private final double errorPenalty;
+    private final long probeIntervalNanos;
+    private final double percentile;
+    private final long minHedgeDelayNanos;
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long recorded;
+    private volatile long hedgeDelayNanos;
+
+    public NodeHealth(@Value("${hedera.nodes.ewma-alpha:0.2}") double alpha,
+                      @Value("${hedera.nodes.error-penalty:10}") double errorPenalty,
+                      @Value("${hedera.nodes.probe-interval:30s}") Duration probeInterval,
+                      @Value("${hedera.hedge.percentile:0.95}") double percentile,
+                      @Value("${hedera.hedge.initial-delay:500ms}") Duration initialHedgeDelay,
+                      @Value("${hedera.hedge.min-delay:20ms}") Duration minHedgeDelay) {
+        this.alpha = alpha;
+        this.errorPenalty = errorPenalty;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.percentile = percentile;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.hedgeDelayNanos = initialHedgeDelay.toNanos();
+    }
+
+    /**
+     * @param failed whether the node itself failed, as opposed to answering with an error about the request
+     */
+    public void record(AccountId node, long latencyNanos, boolean failed) {
+        scores.computeIfAbsent(node, Score::new).record(latencyNanos, failed, alpha);
+        if (!failed) {
+            recordLatency(latencyNanos);
+        }
+    }
+
+    /**
+     * Picks the better of two random candidates, which favours healthy nodes without sending all traffic to one
+     *
+     * @return null if there is no candidate outside {@code excluded}
+     */
+    public AccountId choose(Collection<AccountId> nodes, AccountId excluded) {
+        List<AccountId> candidates = new ArrayList<>(nodes);
+        candidates.remove(excluded);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AccountId first = candidates.get(random.nextInt(candidates.size()));
+        AccountId second = candidates.get(random.nextInt(candidates.size()));
+        return score(first) <= score(second) ? first : second;
+    }
+
+    public long hedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    /**
+     * Every node heard from so far, best first
+     */
+    public List<NodeScore> scores() {
+        List<NodeScore> result = new ArrayList<>();
+        scores.forEach((node, score) -> result.add(score.snapshot(score(node))));
+        result.sort(Comparator.comparingDouble(NodeScore::getScore));
+        return result;
+    }
+
+    /**
+     * Expected latency in milliseconds inflated by the error rate; 0 for nodes to probe
+     */
+    private double score(AccountId node) {
+        Score score = scores.get(node);
+        if (score == null || System.nanoTime() - score.updatedAt > probeIntervalNanos) {
+            return 0;
+        }
+        return score.value(errorPenalty);
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        latencies[(int) (recorded % LATENCY_WINDOW)] = latencyNanos;
+        recorded++;
+        if (recorded % PERCENTILE_EVERY == 0) {
+            long[] window = Arrays.copyOf(latencies, (int) Math.min(recorded, LATENCY_WINDOW));
+            Arrays.sort(window);
+            long value = window[(int) Math.min(window.length - 1, Math.ceil(percentile * window.length) - 1)];
+            hedgeDelayNanos = Math.max(minHedgeDelayNanos, value);
+        }
+    }
+
+    private static class Score {
+        private final AccountId node;
+        private double latencyNanos;
+        private double errorRate;
+        private long samples;
+        private volatile long updatedAt;
+
+        private Score(AccountId node) {
+            this.node = node;
+        }
+
+        private synchronized void record(long latency, boolean failed, double alpha) {
+            if (samples == 0) {
+                latencyNanos = latency;
+                errorRate = failed ? 1 : 0;
+            } else {
+                // a failure's latency says little about how fast the node answers, only its rate counts
+                if (!failed) {
+                    latencyNanos += alpha * (latency - latencyNanos);
+                }
+                errorRate += alpha * ((failed ? 1 : 0) - errorRate);
+            }
+            samples++;
+            updatedAt = System.nanoTime();
+        }
+
+        private synchronized double value(double errorPenalty) {
+            return latencyNanos / 1e6 * (1 + errorPenalty * errorRate);
+        }
+
+        private synchronized NodeScore snapshot(double score) {
+            return new NodeScore(node, latencyNanos / 1e6, errorRate, samples, score);
+        }
+    }
+
+    public static class NodeScore {
+        private final AccountId nodeId;
+        private final double latencyMillis;
+        private final double errorRate;
+        private final long samples;
+        private final double score;
+
+        private NodeScore(AccountId nodeId, double latencyMillis, double errorRate, long samples, double score) {
+            this.nodeId = nodeId;
+            this.latencyMillis = latencyMillis;
+            this.errorRate = errorRate;
+            this.samples = samples;
+            this.score = score;
+        }
+
+        public AccountId getNodeId() {
+            return nodeId;
+        }
+
+        public double getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package hedera.starter.utilities;
+
+/**
+ * Service operations grouped by how they load the service, each group isolated in its own {@link Bulkhead}
+ */
+public enum OperationClass {
+    READ,
+    MINT,
+    TRANSFER,
+    ADMIN
+}
@@ -0,0 +1,11 @@
+package hedera.starter.utilities;
+
+/**
+ * Dispatch order within a {@link TransactionKind}: customer-facing work such as sales goes before
+ * maintenance such as royalty splits
+ */
+public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,26 @@
+package hedera.starter.utilities;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the submission queue for a transaction kind is at its depth limit
+ */
+public class QueueFullException extends RuntimeException {
+
+    private final TransactionKind kind;
+    private final Duration retryAfter;
+
+    public QueueFullException(TransactionKind kind, Duration retryAfter) {
+        super("Submission queue for " + kind + " is full, retry after " + retryAfter.toSeconds() + "s");
+        this.kind = kind;
+        this.retryAfter = retryAfter;
+    }
+
+    public TransactionKind getKind() {
+        return kind;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,116 @@
+package hedera.starter.utilities;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of asynchronous lookups. Entries expire after a fixed TTL, the oldest entries are evicted
+ * once the size limit is exceeded, and concurrent misses for the same key share a single load.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReadThroughCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> loader) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(ttlNanos)) {
+            hits.increment();
+            return entry.value;
+        }
+
+        Entry<K, V> created = new Entry<>(key);
+        Entry<K, V> current = entries.compute(key,
+                (k, existing) -> existing != null && !existing.isExpired(ttlNanos) ? existing : created);
+        if (current != created) {
+            // another caller is already loading or just loaded this key
+            hits.increment();
+            return current.value;
+        }
+
+        misses.increment();
+        track(created);
+        try {
+            loader.apply(key).whenComplete((value, error) -> {
+                if (error != null) {
+                    entries.remove(key, created);
+                    created.value.completeExceptionally(error);
+                } else {
+                    created.value.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.value.completeExceptionally(e);
+        }
+        return created.value;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void track(Entry<K, V> entry) {
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        // the queue also holds entries already replaced or invalidated, so trim on whichever bound is hit first
+        while (entries.size() > maxSize || queued.get() > maxSize * 2) {
+            Entry<K, V> oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.remove(oldest.key, oldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static class Entry<K, V> {
+        private final K key;
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        private final long createdAt = System.nanoTime();
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        private boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - createdAt > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.MaxAttemptsExceededException;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Paces work sent to the network with one token bucket per {@link TransactionKind}, so submissions stay
+ * under the network throttles instead of bouncing off them. Work waits in a bounded priority queue per kind;
+ * when a queue is full the caller gets a {@link QueueFullException} telling it when to come back.
+ * Work the network turns away as busy or throttled is put back at the front of its queue.
+ */
+@Component
+@Slf4j
+public class SubmissionScheduler {
+
+    private final Map<TransactionKind, Lane> lanes = new EnumMap<>(TransactionKind.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxQueueDepth;
+    private final int maxRequeues;
+    private final Duration tick;
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "submission-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SubmissionScheduler(@Value("${hedera.throttle.rates:ACCOUNT_CREATE:2,TOKEN_CREATE:10,MINT:50,TRANSFER:500,ASSOCIATE:100,QUERY:100}") List<String> rates,
+                               @Value("${hedera.throttle.burst:1s}") Duration burst,
+                               @Value("${hedera.throttle.max-queue-depth:1000}") int maxQueueDepth,
+                               @Value("${hedera.throttle.max-requeues:3}") int maxRequeues,
+                               @Value("${hedera.throttle.tick:5ms}") Duration tick) {
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxRequeues = maxRequeues;
+        this.tick = tick;
+        for (String rate : rates) {
+            String[] kindAndRate = rate.split(":");
+            TransactionKind kind = TransactionKind.valueOf(kindAndRate[0].trim());
+            lanes.put(kind, new Lane(kind, Double.parseDouble(kindAndRate[1]), burst));
+        }
+        log.info("Submission rates per second: " + rates);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher.scheduleWithFixedDelay(this::dispatch, tick.toNanos(), tick.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Runs {@code work} once its kind has capacity. Kinds without a configured rate run immediately.
+     */
+    public <T> CompletableFuture<T> schedule(TransactionKind kind, Priority priority, Supplier<CompletableFuture<T>> work) {
+        Lane lane = lanes.get(kind);
+        if (lane == null) {
+            return work.get();
+        }
+        Task<T> task = new Task<>(priority, sequence.getAndIncrement(), work);
+        if (!lane.offer(task, maxQueueDepth)) {
+            return CompletableFuture.failedFuture(new QueueFullException(kind, lane.retryAfter()));
+        }
+        return task.result;
+    }
+
+    public int queueDepth(TransactionKind kind) {
+        Lane lane = lanes.get(kind);
+        return lane == null ? 0 : lane.depth();
+    }
+
+    private void dispatch() {
+        try {
+            long now = System.nanoTime();
+            for (Lane lane : lanes.values()) {
+                lane.refill(now);
+                Task<?> task;
+                while ((task = lane.take()) != null) {
+                    run(lane, task);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Submission dispatch failed", e);
+        }
+    }
+
+    private <T> void run(Lane lane, Task<T> task) {
+        CompletableFuture<T> attempt;
+        try {
+            attempt = task.work.get();
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        attempt.whenComplete((value, error) -> {
+            if (error == null) {
+                task.result.complete(value);
+                return;
+            }
+            Throwable cause = Futures.unwrap(error);
+            if (isThrottled(lane.kind, cause) && task.requeues < maxRequeues) {
+                task.requeues++;
+                // the network is at its ceiling, so back off until the bucket refills
+                lane.drain();
+                lane.requeue(task);
+                log.debug(lane.kind + " submission throttled, requeued (" + task.requeues + "): " + cause);
+                return;
+            }
+            task.result.completeExceptionally(cause);
+        });
+    }
+
+    /**
+     * Failures that mean the network turned the work away for load, so it was not applied and can be resent.
+     * A requeued transaction is frozen again under a new transaction ID, which the network cannot tell from
+     * the first, so running out of attempts only counts for queries: it also follows transport failures
+     * after which a node may hold the transaction.
+     */
+    static boolean isThrottled(TransactionKind kind, Throwable cause) {
+        if (cause instanceof MaxAttemptsExceededException) {
+            return kind == TransactionKind.QUERY;
+        }
+        if (cause instanceof PrecheckStatusException) {
+            Status status = ((PrecheckStatusException) cause).status;
+            return status == Status.BUSY || status == Status.PLATFORM_TRANSACTION_NOT_CREATED;
+        }
+        return cause instanceof ReceiptStatusException
+                && ((ReceiptStatusException) cause).receipt.status == Status.THROTTLED_AT_CONSENSUS;
+    }
+
+    private static class Lane {
+        private final TransactionKind kind;
+        private final double permitsPerSecond;
+        private final double permitsPerNano;
+        private final double capacity;
+        private final PriorityQueue<Task<?>> queue = new PriorityQueue<>();
+        private double permits;
+        private long refilledAt = System.nanoTime();
+
+        private Lane(TransactionKind kind, double permitsPerSecond, Duration burst) {
+            this.kind = kind;
+            this.permitsPerSecond = permitsPerSecond;
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, permitsPerSecond * burst.toNanos() / TimeUnit.SECONDS.toNanos(1));
+            this.permits = capacity;
+        }
+
+        private synchronized boolean offer(Task<?> task, int maxDepth) {
+            if (queue.size() >= maxDepth) {
+                return false;
+            }
+            return queue.add(task);
+        }
+
+        private synchronized void requeue(Task<?> task) {
+            // keeps its original sequence number, so it goes ahead of later work of the same priority
+            queue.add(task);
+        }
+
+        private synchronized Task<?> take() {
+            if (queue.isEmpty() || permits < 1) {
+                return null;
+            }
+            permits--;
+            return queue.poll();
+        }
+
+        private synchronized void refill(long now) {
+            permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+        }
+
+        private synchronized void drain() {
+            permits = Math.min(permits, 0);
+        }
+
+        private synchronized int depth() {
+            return queue.size();
+        }
+
+        private synchronized Duration retryAfter() {
+            return Duration.ofSeconds(Math.max(1, (long) Math.ceil(queue.size() / permitsPerSecond)));
+        }
+    }
+
+    private static class Task<T> implements Comparable<Task<?>> {
+        private final Priority priority;
+        private final long sequence;
+        private final Supplier<CompletableFuture<T>> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int requeues;
+
+        private Task(Priority priority, long sequence, Supplier<CompletableFuture<T>> work) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package hedera.starter.utilities;
+
+/**
+ * Operation classes the network throttles separately, each with its own submission rate
+ */
+public enum TransactionKind {
+    ACCOUNT_CREATE,
+    TOKEN_CREATE,
+    MINT,
+    TRANSFER,
+    ASSOCIATE,
+    QUERY
+}
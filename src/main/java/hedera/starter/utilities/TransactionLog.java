@@ -0,0 +1,144 @@
+package hedera.starter.utilities;
+
+import com.hedera.hashgraph.sdk.TransactionId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-ahead log of transactions sent to the network. A transaction is logged before it is submitted and
+ * marked resolved once its receipt is in, so after a restart the log names everything whose outcome
+ * was never learned.
+ */
+@Component
+@Slf4j
+public class TransactionLog {
+
+    private static final byte SUBMITTED = 1;
+    private static final byte RESOLVED = 2;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final List<InFlight> recovered;
+    private final MappedRecordLog file;
+
+    public TransactionLog(@Value("${hedera.wal.path:data/transactions.wal}") String path,
+                          @Value("${hedera.wal.capacity:16MB}") DataSize capacity,
+                          @Value("${hedera.wal.force-writes:false}") boolean forceWrites) throws IOException {
+        this.file = new MappedRecordLog(Paths.get(path), capacity.toBytes(), forceWrites);
+        file.replay().forEach(this::apply);
+        this.recovered = List.copyOf(inFlight.values());
+        log.info("Transaction log " + path + " has " + recovered.size() + " unresolved transactions");
+    }
+
+    public void submitted(TransactionId transactionId, TransactionKind kind) {
+        InFlight transaction = new InFlight(transactionId.toString(), kind, System.currentTimeMillis());
+        inFlight.put(transaction.transactionId, transaction);
+        append(MappedRecordLog.record(out -> {
+            out.writeByte(SUBMITTED);
+            out.writeUTF(transaction.transactionId);
+            out.writeUTF(kind.name());
+            out.writeLong(transaction.submittedAt);
+        }));
+    }
+
+    public void resolved(TransactionId transactionId) {
+        if (inFlight.remove(transactionId.toString()) != null) {
+            append(MappedRecordLog.record(out -> {
+                out.writeByte(RESOLVED);
+                out.writeUTF(transactionId.toString());
+            }));
+        }
+    }
+
+    /**
+     * Transactions that were still unresolved when the log was replayed at startup
+     */
+    public List<InFlight> recovered() {
+        return recovered;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Rewrites the log with only the unresolved transactions
+     */
+    @Scheduled(fixedDelayString = "${hedera.wal.compact-interval:5m}")
+    public synchronized void compact() {
+        List<byte[]> records = new ArrayList<>();
+        for (InFlight transaction : inFlight.values()) {
+            records.add(MappedRecordLog.record(out -> {
+                out.writeByte(SUBMITTED);
+                out.writeUTF(transaction.transactionId);
+                out.writeUTF(transaction.kind.name());
+                out.writeLong(transaction.submittedAt);
+            }));
+        }
+        file.rewrite(records);
+        log.debug("Compacted transaction log to " + records.size() + " unresolved transactions");
+    }
+
+    @PreDestroy
+    void flush() {
+        file.force();
+    }
+
+    private synchronized void append(byte[] record) {
+        if (!file.append(record)) {
+            // the record is already reflected in the in-flight map, so compaction writes it out
+            compact();
+        }
+    }
+
+    private void apply(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte type = in.readByte();
+            String transactionId = in.readUTF();
+            if (type == SUBMITTED) {
+                inFlight.put(transactionId, new InFlight(transactionId, TransactionKind.valueOf(in.readUTF()), in.readLong()));
+            } else if (type == RESOLVED) {
+                inFlight.remove(transactionId);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static class InFlight {
+        private final String transactionId;
+        private final TransactionKind kind;
+        private final long submittedAt;
+
+        private InFlight(String transactionId, TransactionKind kind, long submittedAt) {
+            this.transactionId = transactionId;
+            this.kind = kind;
+            this.submittedAt = submittedAt;
+        }
+
+        public TransactionId getTransactionId() {
+            return TransactionId.fromString(transactionId);
+        }
+
+        public TransactionKind getKind() {
+            return kind;
+        }
+
+        public long getSubmittedAt() {
+            return submittedAt;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package hedera.starter.hederatoken.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import hedera.starter.hederatoken.dto.TransactionStatusDto;
+import hedera.starter.hederatoken.service.ReceiptTracker;
+import hedera.starter.hederatoken.service.impl.IdempotencySettlement;
+import hedera.starter.utilities.IdempotencyContext;
+import hedera.starter.utilities.IdempotencyJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+    private static final String KEY = "request-42";
+    private static final TransactionId TRANSACTION_ID = TransactionId.fromString("0.0.1001@1700000000.000000001");
+
+    @TempDir
+    Path dir;
+
+    private final Map<TransactionId, TransactionStatusDto> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger handled = new AtomicInteger();
+    private final AtomicReference<IdempotencyContext.Listener> firstRequest = new AtomicReference<>();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        IdempotencyJournal journal = new IdempotencyJournal(dir.resolve("idempotency.journal").toString(),
+                DataSize.ofMegabytes(1), Duration.ofHours(1), false);
+        ReceiptTracker receiptTracker = new ReceiptTracker() {
+            @Override
+            public CompletableFuture<TransactionReceipt> track(TransactionId transactionId) {
+                return new CompletableFuture<>();
+            }
+
+            @Override
+            public CompletableFuture<TransactionReceipt> lookup(TransactionId transactionId) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public TransactionStatusDto getStatus(TransactionId transactionId) {
+                return statuses.get(transactionId);
+            }
+        };
+        filter = new IdempotencyFilter(journal, new IdempotencySettlement(journal, receiptTracker, new ObjectMapper()));
+    }
+
+    @Test
+    void retryAfterGatewayTimeoutReplaysTheOutcome() throws Exception {
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), send(timesOutAfterSubmitting()).getStatus());
+
+        MockHttpServletResponse whilePending = send(timesOutAfterSubmitting());
+        assertEquals(HttpStatus.CONFLICT.value(), whilePending.getStatus());
+        assertTrue(whilePending.getContentAsString().contains(TRANSACTION_ID.toString()));
+
+        statuses.put(TRANSACTION_ID, new TransactionStatusDto(TRANSACTION_ID.toString(), "SUCCESS", "SUCCESS", null));
+        firstRequest.get().resolved(TRANSACTION_ID, null);
+
+        MockHttpServletResponse replayed = send(timesOutAfterSubmitting());
+        assertEquals(HttpStatus.OK.value(), replayed.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED));
+        assertTrue(replayed.getContentAsString().contains("\"state\":\"SUCCESS\""));
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void retryAfterGatewayTimeoutIsCarriedOutWhenNothingWasApplied() throws Exception {
+        send(timesOutAfterSubmitting());
+
+        statuses.put(TRANSACTION_ID, new TransactionStatusDto(TRANSACTION_ID.toString(), "FAILED", "INSUFFICIENT_PAYER_BALANCE", null));
+        firstRequest.get().resolved(TRANSACTION_ID, null);
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), send(timesOutAfterSubmitting()).getStatus());
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void keyBearingResponseIsReplayedWithoutItsBody() throws Exception {
+        Servlet createAccount = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                handled.incrementAndGet();
+                response.setContentType("application/json");
+                response.getOutputStream().write("{\"privateKey\":\"302e0201\"}".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        assertTrue(send("POST", "/token/createAccount", createAccount).getContentAsString().contains("privateKey"));
+
+        MockHttpServletResponse replayed = send("POST", "/token/createAccount", createAccount);
+        assertEquals(HttpStatus.OK.value(), replayed.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED));
+        assertEquals("", replayed.getContentAsString());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void readsAreNotJournaled() throws Exception {
+        send("GET", "/token/balance", timesOutAfterSubmitting());
+        send("GET", "/token/balance", timesOutAfterSubmitting());
+
+        assertEquals(2, handled.get());
+    }
+
+    private Servlet timesOutAfterSubmitting() {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                handled.incrementAndGet();
+                firstRequest.compareAndSet(null, IdempotencyContext.current());
+                IdempotencyContext.current().submitted(TRANSACTION_ID);
+                response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            }
+        };
+    }
+
+    private MockHttpServletResponse send(Servlet servlet) throws Exception {
+        return send("POST", "/token/associate", servlet);
+    }
+
+    private MockHttpServletResponse send(String method, String path, Servlet servlet) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, KEY);
+        request.setContent("{\"tokenId\":\"0.0.2002\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
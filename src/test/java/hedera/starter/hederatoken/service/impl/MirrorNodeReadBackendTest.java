@@ -0,0 +1,87 @@
+package hedera.starter.hederatoken.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Hbar;
+import hedera.starter.utilities.MirrorNodeStub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MirrorNodeReadBackendTest {
+
+    private static final String ACCOUNT_ID = "0.0.1001";
+    private static final long MIRROR_TINYBARS = 100;
+    private static final long CONSENSUS_TINYBARS = 200;
+
+    private final AtomicInteger consensusQueries = new AtomicInteger();
+    private MirrorNodeStub mirrorNode;
+    private MirrorNodeReadBackend backend;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mirrorNode = new MirrorNodeStub(0).balance(ACCOUNT_ID, MIRROR_TINYBARS);
+        ConsensusReadBackend consensus = new ConsensusReadBackend(null, null, null) {
+            @Override
+            public CompletableFuture<Hbar> getBalance(AccountId accountId) {
+                consensusQueries.incrementAndGet();
+                return CompletableFuture.completedFuture(Hbar.fromTinybars(CONSENSUS_TINYBARS));
+            }
+        };
+        // a zero check interval makes every read probe the stub's current lag
+        backend = new MirrorNodeReadBackend(consensus, new ObjectMapper(), mirrorNode.url(),
+                Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mirrorNode.close();
+    }
+
+    @Test
+    void readsFromMirrorWhileItKeepsUp() {
+        mirrorNode.setLag(Duration.ofSeconds(1));
+
+        assertEquals(MIRROR_TINYBARS, backend.getBalance(AccountId.fromString(ACCOUNT_ID)).join().toTinybars());
+        assertEquals(0, consensusQueries.get());
+    }
+
+    @Test
+    void fallsBackToConsensusWhenMirrorLagsBehind() {
+        mirrorNode.setLag(Duration.ofMinutes(1));
+
+        assertEquals(CONSENSUS_TINYBARS, backend.getBalance(AccountId.fromString(ACCOUNT_ID)).join().toTinybars());
+        assertEquals(1, consensusQueries.get());
+    }
+
+    @Test
+    void returnsToMirrorOnceItCatchesUp() {
+        mirrorNode.setLag(Duration.ofMinutes(1));
+        backend.getBalance(AccountId.fromString(ACCOUNT_ID)).join();
+
+        mirrorNode.setLag(Duration.ZERO);
+
+        assertEquals(MIRROR_TINYBARS, backend.getBalance(AccountId.fromString(ACCOUNT_ID)).join().toTinybars());
+        assertEquals(1, consensusQueries.get());
+    }
+
+    @Test
+    void readsOwnWritesFromConsensusUntilMirrorHasSeenThem() {
+        mirrorNode.setLag(Duration.ofSeconds(5));
+        backend.balanceWritten(AccountId.fromString(ACCOUNT_ID));
+
+        assertEquals(CONSENSUS_TINYBARS, backend.getBalance(AccountId.fromString(ACCOUNT_ID)).join().toTinybars());
+        assertEquals(1, consensusQueries.get());
+
+        mirrorNode.setLag(Duration.ZERO);
+
+        assertEquals(MIRROR_TINYBARS, backend.getBalance(AccountId.fromString(ACCOUNT_ID)).join().toTinybars());
+        assertEquals(1, consensusQueries.get());
+    }
+}
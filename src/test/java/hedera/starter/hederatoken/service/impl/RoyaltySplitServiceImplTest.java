@@ -0,0 +1,42 @@
+package hedera.starter.hederatoken.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoyaltySplitServiceImplTest {
+
+    @Test
+    void largestRemaindersReceiveTheLeftoverTinybars() {
+        long[] shares = RoyaltySplitServiceImpl.apportion(100, new long[]{1, 1, 1});
+
+        assertTrue(Arrays.equals(new long[]{34, 33, 33}, shares));
+    }
+
+    @Test
+    void tiedRemaindersFavourTheEarlierRecipient() {
+        long[] shares = RoyaltySplitServiceImpl.apportion(10, new long[]{75, 25});
+
+        assertTrue(Arrays.equals(new long[]{8, 2}, shares));
+    }
+
+    @Test
+    void sharesAddUpWithoutOverflow() {
+        long distributable = Long.MAX_VALUE / 2;
+        long[] shares = RoyaltySplitServiceImpl.apportion(distributable, new long[]{3, 7, 0, 11});
+
+        assertEquals(distributable, Arrays.stream(shares).sum());
+        assertEquals(0, shares[2]);
+    }
+
+    @Test
+    void rejectsFewerThanTwoTransferLegs() {
+        assertThrows(IllegalArgumentException.class, () -> new RoyaltySplitServiceImpl(null, null, null, null,
+                List.of("COMMON_TREASURE"), List.of("FIRST_FEE_ID1:1"), 10, 1));
+    }
+}
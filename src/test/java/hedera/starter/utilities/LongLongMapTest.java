@@ -0,0 +1,109 @@
+package hedera.starter.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongMapTest {
+
+    private static final long MISSING = -1;
+    // the smallest table, which holds up to 12 entries before growing
+    private static final int SLOTS = 16;
+
+    @Test
+    void putGetAndRemove() {
+        LongLongMap map = new LongLongMap(4);
+        map.put(7, 70);
+        map.put(8, 80);
+        map.put(7, 71);
+
+        assertEquals(71, map.get(7, MISSING));
+        assertEquals(80, map.get(8, MISSING));
+        assertEquals(MISSING, map.get(9, MISSING));
+        assertEquals(2, map.size());
+
+        map.remove(7);
+        map.remove(9);
+
+        assertEquals(MISSING, map.get(7, MISSING));
+        assertEquals(80, map.get(8, MISSING));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void rejectsTheFreeKey() {
+        assertThrows(IllegalArgumentException.class, () -> new LongLongMap(4).put(0, 1));
+    }
+
+    @Test
+    void collidingKeysStayReachableAfterRemoval() {
+        List<Long> keys = keysWithHome(3, 4);
+        LongLongMap map = new LongLongMap(4);
+        keys.forEach(key -> map.put(key, key * 10));
+
+        map.remove(keys.get(0));
+        map.remove(keys.get(2));
+
+        assertEquals(MISSING, map.get(keys.get(0), MISSING));
+        assertEquals(keys.get(1) * 10, map.get(keys.get(1), MISSING));
+        assertEquals(MISSING, map.get(keys.get(2), MISSING));
+        assertEquals(keys.get(3) * 10, map.get(keys.get(3), MISSING));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void probeRunsWrapPastTheEndOfTheTable() {
+        List<Long> wrapping = keysWithHome(SLOTS - 1, 3);
+        // homed on the first slot, so displaced by the keys that wrapped into it
+        long displaced = keysWithHome(0, 1).get(0);
+        LongLongMap map = new LongLongMap(4);
+        wrapping.forEach(key -> map.put(key, key * 10));
+        map.put(displaced, 42);
+
+        map.remove(wrapping.get(0));
+
+        assertEquals(wrapping.get(1) * 10, map.get(wrapping.get(1), MISSING));
+        assertEquals(wrapping.get(2) * 10, map.get(wrapping.get(2), MISSING));
+        assertEquals(42, map.get(displaced, MISSING));
+
+        map.remove(wrapping.get(1));
+        map.remove(wrapping.get(2));
+
+        assertEquals(42, map.get(displaced, MISSING));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void growKeepsEveryEntry() {
+        LongLongMap map = new LongLongMap(4);
+        long smallest = map.footprint();
+        List<Long> keys = new ArrayList<>(keysWithHome(5, 6));
+        for (long key = 1; key <= 1000; key++) {
+            keys.add(key);
+            keys.add(-key);
+        }
+        keys.forEach(key -> map.put(key, key * 10));
+
+        assertTrue(map.footprint() > smallest);
+        assertEquals(keys.stream().distinct().count(), map.size());
+        keys.forEach(key -> assertEquals(key * 10, map.get(key, MISSING)));
+    }
+
+    /**
+     * The first {@code count} keys that hash to {@code slot} of the smallest table
+     */
+    private static List<Long> keysWithHome(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if ((LongLongMap.hash(key) & (SLOTS - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,90 @@
+package hedera.starter.utilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal in-process mirror node REST server for tests and benchmarks: serves canned JSON per path and
+ * answers the latest-transaction probe with a configurable lag. Point {@code hedera.mirror.url} at {@link #url()}.
+ */
+public class MirrorNodeStub implements AutoCloseable {
+
+    private static final String LATEST_TRANSACTION_PATH = "/api/v1/transactions";
+
+    private final HttpServer server;
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private volatile Duration lag = Duration.ZERO;
+
+    public MirrorNodeStub(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public MirrorNodeStub respond(String path, String json) {
+        responses.put(path, json);
+        return this;
+    }
+
+    public MirrorNodeStub token(String tokenId, String treasuryAccountId, long totalSupply) {
+        return respond("/api/v1/tokens/" + tokenId, "{\"token_id\":\"" + tokenId + "\",\"name\":\"stub\",\"symbol\":\"STUB\","
+                + "\"decimals\":\"0\",\"total_supply\":\"" + totalSupply + "\",\"max_supply\":\"10000\","
+                + "\"treasury_account_id\":\"" + treasuryAccountId + "\",\"type\":\"NON_FUNGIBLE_UNIQUE\","
+                + "\"supply_type\":\"FINITE\",\"memo\":\"\",\"deleted\":false}");
+    }
+
+    public MirrorNodeStub balance(String accountId, long tinybars) {
+        return respond("/api/v1/accounts/" + accountId, "{\"account\":\"" + accountId + "\",\"balance\":{\"balance\":"
+                + tinybars + ",\"timestamp\":\"" + timestamp() + "\",\"tokens\":[]}}");
+    }
+
+    public MirrorNodeStub nft(String tokenId, long serial, String ownerAccountId) {
+        return respond("/api/v1/tokens/" + tokenId + "/nfts/" + serial, "{\"token_id\":\"" + tokenId
+                + "\",\"serial_number\":" + serial + ",\"account_id\":\"" + ownerAccountId + "\",\"deleted\":false}");
+    }
+
+    /**
+     * How far behind the wall clock the stub reports its newest transaction
+     */
+    public void setLag(Duration lag) {
+        this.lag = lag;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body = LATEST_TRANSACTION_PATH.equals(path)
+                ? "{\"transactions\":[{\"consensus_timestamp\":\"" + timestamp() + "\"}]}"
+                : responses.get(path);
+
+        byte[] bytes = (body == null ? "{\"_status\":{\"messages\":[{\"message\":\"Not found\"}]}}" : body)
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(body == null ? 404 : 200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String timestamp() {
+        Instant at = Instant.now().minus(lag);
+        return at.getEpochSecond() + "." + String.format("%09d", at.getNano());
+    }
+}